@@ -0,0 +1,97 @@
+package org.reserv.reserveme.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+// Thin HTTP/JSON client for the endpoints the workload drives. Every call is timed into
+// Stats under its operation; transport failures are recorded as status 0, not thrown.
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Response get(Stats stats, Operation op, String pathAndQuery, String token) {
+        return send(stats, op, request(pathAndQuery, token).GET());
+    }
+
+    Response post(Stats stats, Operation op, String path, String token, Object body) {
+        return send(stats, op, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body))));
+    }
+
+    Response put(Stats stats, Operation op, String path, String token) {
+        return send(stats, op, request(path, token).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    Response delete(Stats stats, Operation op, String path, String token) {
+        return send(stats, op, request(path, token).DELETE());
+    }
+
+    // The user id is the access token's subject; register and login don't return it otherwise
+    static UUID subjectOf(String accessToken) {
+        String payload = accessToken.split("\\.")[1];
+        String claims = new String(Base64.getUrlDecoder().decode(payload));
+        int at = claims.indexOf("\"sub\":\"") + 7;
+        return UUID.fromString(claims.substring(at, claims.indexOf('"', at)));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(Stats stats, Operation op, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(op, response.statusCode(), System.nanoTime() - start);
+            String body = response.body();
+            return new Response(response.statusCode(), body == null || body.isEmpty() ? null : parse(body));
+        } catch (IOException ex) {
+            stats.record(op, 0, System.nanoTime() - start);
+            return new Response(0, null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return json.readTree(body);
+        } catch (RuntimeException ex) {
+            // Error pages are not always JSON; the status is what matters
+            return null;
+        }
+    }
+}
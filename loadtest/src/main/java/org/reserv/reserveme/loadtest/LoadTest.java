@@ -0,0 +1,146 @@
+package org.reserv.reserveme.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+// Entry point: seed, optional login burst, warm-up, recorded run, report. Latencies are
+// measured by closed-loop clients with no think time, so they are service times under the
+// offered concurrency rather than what an open-loop arrival rate would see.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.print(LoadTestConfig.USAGE);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.print(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Workload workload = new Workload(config);
+        long seedStart = System.nanoTime();
+        workload.seed();
+        System.out.printf("Seeded %d users, %d owners and %d slots against %s in %.1fs%n",
+                config.users(), config.owners(), config.totalSlots(), config.baseUrl(),
+                (System.nanoTime() - seedStart) / 1e9);
+
+        Map<Operation, Stats.Result> burst = null;
+        PoolSampler.Result pool = null;
+        if (config.managementUrl() != null) {
+            try (PoolSampler sampler = new PoolSampler(config.managementUrl())) {
+                sampler.start();
+                burst = workload.loginBurst().results();
+                pool = sampler.stop();
+            }
+        } else if (config.loginBurst() > 0) {
+            burst = workload.loginBurst().results();
+        }
+
+        Stats stats = new Stats();
+        Duration measured = workload.run(stats);
+        Map<Operation, Stats.Result> results = stats.results();
+        if (burst != null) {
+            results.put(Operation.LOGIN_BURST, burst.get(Operation.LOGIN_BURST));
+        }
+
+        report(System.out, config, measured, results, pool);
+        if (config.histogramLog() != null) {
+            writeHistogramLog(config, results);
+        }
+    }
+
+    static void report(PrintStream out, LoadTestConfig config, Duration measured, Map<Operation, Stats.Result> results,
+                       PoolSampler.Result pool) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%nRecorded %.1fs after %ds warm-up with %d clients (mix %s)%n%n",
+                seconds, config.warmup().toSeconds(), config.clients(), config.mix());
+        out.printf("%-12s %-36s %9s %9s %8s %7s %7s %7s %9s %9s %9s %9s%n",
+                "operation", "endpoint", "requests", "req/s", "2xx", "4xx", "5xx", "failed",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (var entry : results.entrySet()) {
+            Operation op = entry.getKey();
+            Stats.Result r = entry.getValue();
+            if (r.requests() == 0) {
+                continue;
+            }
+            Histogram h = r.latencyMicros();
+            // The burst is not spread over the recorded run, so a rate would be meaningless
+            String rate = op == Operation.LOGIN_BURST ? "-" : String.format("%.1f", r.requests() / seconds);
+            out.printf("%-12s %-36s %9d %9s %8d %7d %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    op.tag(), op.endpoint(), r.requests(), rate,
+                    r.countInRange(200, 300), r.countInRange(400, 500), r.countInRange(500, 600), r.count(0),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+            if (op != Operation.LOGIN_BURST) {
+                total += r.requests();
+            }
+        }
+        out.printf("%nThroughput: %.1f req/s%n", total / seconds);
+
+        Stats.Result book = results.get(Operation.BOOK);
+        if (book.requests() > 0) {
+            long conflicts = book.count(409);
+            out.printf("Booking conflicts: %d of %d attempts (%.1f%%) got 409%n",
+                    conflicts, book.requests(), 100.0 * conflicts / book.requests());
+        }
+        Stats.Result burst = results.get(Operation.LOGIN_BURST);
+        if (burst != null && burst.requests() > 0) {
+            out.printf("Login burst: %d logins, %d rejected with 429 (hashing pool full)%n",
+                    burst.requests(), burst.count(429));
+        }
+        if (pool != null) {
+            out.printf("%nConnection pools around the login burst (%d scrapes, every %dms while it ran)%n",
+                    pool.scrapes(), PoolSampler.INTERVAL.toMillis());
+            out.printf("%-20s %28s %28s%n", "pool", "active before/peak/after", "pending before/peak/after");
+            for (String name : pool.peak().keySet()) {
+                PoolSampler.Usage before = pool.before().getOrDefault(name, new PoolSampler.Usage(0, 0));
+                PoolSampler.Usage peak = pool.peak().get(name);
+                PoolSampler.Usage after = pool.after().getOrDefault(name, new PoolSampler.Usage(0, 0));
+                out.printf("%-20s %28s %28s%n", name,
+                        "%.0f / %.0f / %.0f".formatted(before.active(), peak.active(), after.active()),
+                        "%.0f / %.0f / %.0f".formatted(before.pending(), peak.pending(), after.pending()));
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // One interval per operation, tagged with its name; read back with HistogramLogReader or
+    // plot with HdrHistogram's log processor to compare runs
+    private static void writeHistogramLog(LoadTestConfig config, Map<Operation, Stats.Result> results) throws IOException {
+        if (config.histogramLog().getParent() != null) {
+            Files.createDirectories(config.histogramLog().getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.histogramLog()))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputComment("Latency in microseconds; tag = operation");
+            writer.outputLegend();
+            for (Stats.Result r : results.values()) {
+                if (r.requests() > 0) {
+                    writer.outputIntervalHistogram(r.latencyMicros());
+                }
+            }
+        }
+        System.out.println("Histogram log written to " + config.histogramLog());
+    }
+}
@@ -0,0 +1,125 @@
+package org.reserv.reserveme.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command-line settings, given as --name=value. Unknown names are rejected so a typo doesn't
+// silently run the defaults.
+record LoadTestConfig(
+        String baseUrl,
+        int users,
+        int owners,
+        int slotsPerOwner,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int hotSlots,
+        double hotFraction,
+        int loginBurst,
+        String managementUrl,
+        Path histogramLog
+) {
+
+    static final String USAGE = """
+            Options (--name=value):
+              base-url         server under test                    [http://localhost:8080]
+              users            requesters registered before the run [200]
+              owners           slot owners registered before the run [20]
+              slots-per-owner  slots each owner publishes            [50]
+              clients          concurrent virtual-thread clients     [200]
+              warmup           run before recording, e.g. 30s        [10s]
+              duration         recorded run, e.g. 2m                 [60s]
+              mix              operation weights                     [browse=60,book=20,confirm=8,cancel=7,refresh=5,login=0]
+              hot-slots        slots that attract a share of bookings [10]
+              hot-fraction     share of bookings aimed at hot slots  [0.5]
+              login-burst      simultaneous logins before the run    [0]
+              management-url   actuator base URL, e.g. http://localhost:8081; scrapes Hikari
+                               pool usage before, during and after the login burst
+              histogram-log    write per-operation HdrHistogram logs to this file
+            """;
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        var config = new LoadTestConfig(
+                take(options, "base-url", "http://localhost:8080"),
+                Integer.parseInt(take(options, "users", "200")),
+                Integer.parseInt(take(options, "owners", "20")),
+                Integer.parseInt(take(options, "slots-per-owner", "50")),
+                Integer.parseInt(take(options, "clients", "200")),
+                duration(take(options, "warmup", "10s")),
+                duration(take(options, "duration", "60s")),
+                mix(take(options, "mix", "browse=60,book=20,confirm=8,cancel=7,refresh=5,login=0")),
+                Integer.parseInt(take(options, "hot-slots", "10")),
+                Double.parseDouble(take(options, "hot-fraction", "0.5")),
+                Integer.parseInt(take(options, "login-burst", "0")),
+                options.remove("management-url"),
+                options.containsKey("histogram-log") ? Path.of(options.remove("histogram-log")) : null);
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + options.keySet());
+        }
+        if (config.users < 1 || config.owners < 1 || config.slotsPerOwner < 1 || config.clients < 1) {
+            throw new IllegalArgumentException("users, owners, slots-per-owner and clients must be positive");
+        }
+        if (config.hotFraction < 0 || config.hotFraction > 1) {
+            throw new IllegalArgumentException("hot-fraction must be between 0 and 1");
+        }
+        if (config.managementUrl != null && config.loginBurst < 1) {
+            throw new IllegalArgumentException("management-url needs a login-burst to watch");
+        }
+        return config;
+    }
+
+    int totalSlots() {
+        return owners * slotsPerOwner;
+    }
+
+    private static String take(Map<String, String> options, String name, String fallback) {
+        String value = options.remove(name);
+        return value != null ? value : fallback;
+    }
+
+    // 500ms, 30s, 2m
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Bad duration " + value + " (use ms, s, m or h)");
+        };
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            Operation op = Operation.valueOf(kv[0].trim().toUpperCase());
+            if (op == Operation.LOGIN_BURST) {
+                throw new IllegalArgumentException("Use --login-burst for the burst, not the mix");
+            }
+            weights.put(op, weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix needs at least one positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,28 @@
+package org.reserv.reserveme.loadtest;
+
+// What a client does in one step of the mix. The endpoint is what the report shows; the
+// operation name doubles as the tag in the histogram log.
+enum Operation {
+    BROWSE("GET /api/slots?from&to"),
+    BOOK("POST /api/reservations"),
+    CONFIRM("PUT /api/reservations/{id}/confirm"),
+    CANCEL("DELETE /api/reservations/{id}"),
+    REFRESH("POST /api/auth/refresh"),
+    LOGIN("POST /api/auth/login"),
+    // The simultaneous logins before the run; reported apart from LOGIN in the mix
+    LOGIN_BURST("POST /api/auth/login");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
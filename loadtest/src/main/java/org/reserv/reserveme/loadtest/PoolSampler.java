@@ -0,0 +1,121 @@
+package org.reserv.reserveme.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Watches the server's Hikari pools through /actuator/prometheus on the management port: one
+// scrape before the login burst, one every INTERVAL while it runs, and one after it. Hikari
+// refreshes these gauges at most once a second, so peaks are sampled, not exact, and the last
+// scrape waits SETTLE for values that postdate the burst.
+final class PoolSampler implements AutoCloseable {
+
+    static final Duration INTERVAL = Duration.ofMillis(100);
+    static final Duration SETTLE = Duration.ofMillis(1500);
+
+    private static final String ACTIVE = "hikaricp_connections_active";
+    private static final String PENDING = "hikaricp_connections_pending";
+
+    // Gauge values of one pool, labelled by its name
+    record Usage(double active, double pending) {
+        Usage max(Usage other) {
+            return new Usage(Math.max(active, other.active), Math.max(pending, other.pending));
+        }
+    }
+
+    record Result(Map<String, Usage> before, Map<String, Usage> peak, Map<String, Usage> after, int scrapes) {
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI uri;
+    private Map<String, Usage> before;
+    private final Map<String, Usage> peak = new TreeMap<>();
+    private int scrapes;
+    private Thread poller;
+    private volatile boolean running;
+
+    PoolSampler(String managementUrl) {
+        String base = managementUrl.endsWith("/") ? managementUrl.substring(0, managementUrl.length() - 1) : managementUrl;
+        this.uri = URI.create(base + "/actuator/prometheus");
+    }
+
+    // Fails fast if the endpoint is unreachable, so a run isn't wasted without pool numbers
+    void start() throws IOException, InterruptedException {
+        before = scrape();
+        merge(before);
+        running = true;
+        // A platform thread, so the samples keep coming while the burst's virtual threads run
+        poller = Thread.ofPlatform().daemon().name("pool-sampler").start(() -> {
+            while (running) {
+                try {
+                    merge(scrape());
+                    Thread.sleep(INTERVAL);
+                } catch (IOException ex) {
+                    // A missed sample only coarsens the peak
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+    }
+
+    Result stop() throws IOException, InterruptedException {
+        running = false;
+        poller.join();
+        Thread.sleep(SETTLE);
+        Map<String, Usage> after = scrape();
+        merge(after);
+        synchronized (peak) {
+            return new Result(before, new TreeMap<>(peak), after, scrapes);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.join();
+        }
+    }
+
+    private void merge(Map<String, Usage> sample) {
+        synchronized (peak) {
+            scrapes++;
+            sample.forEach((pool, usage) -> peak.merge(pool, usage, Usage::max));
+        }
+    }
+
+    private Map<String, Usage> scrape() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(uri + " returned " + response.statusCode());
+        }
+        return parse(response.body());
+    }
+
+    // hikaricp_connections_active{pool="HikariPool-1",} 3.0
+    static Map<String, Usage> parse(String exposition) {
+        Map<String, Usage> pools = new TreeMap<>();
+        for (String line : exposition.split("\n")) {
+            boolean active = line.startsWith(ACTIVE + "{");
+            if (!active && !line.startsWith(PENDING + "{")) {
+                continue;
+            }
+            int from = line.indexOf("pool=\"") + 6;
+            String pool = line.substring(from, line.indexOf('"', from));
+            double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            Usage usage = active ? new Usage(value, 0) : new Usage(0, value);
+            pools.merge(pool, usage, (a, b) -> new Usage(a.active + b.active, a.pending + b.pending));
+        }
+        return pools;
+    }
+}
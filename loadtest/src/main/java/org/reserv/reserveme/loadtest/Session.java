@@ -0,0 +1,41 @@
+package org.reserv.reserveme.loadtest;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// A registered user and its current tokens. Clients may share a session when there are more
+// clients than users, so token rotation is serialized per session: two concurrent refreshes
+// with the same refresh token would look like token reuse to the server.
+final class Session {
+
+    final UUID userId;
+    final String email;
+    final String password;
+    // Reservations this user requested and may still cancel
+    final Queue<UUID> reservations = new ConcurrentLinkedQueue<>();
+
+    private String accessToken;
+    private String refreshToken;
+
+    Session(String email, String password, String accessToken, String refreshToken) {
+        this.userId = ApiClient.subjectOf(accessToken);
+        this.email = email;
+        this.password = password;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
+    synchronized String accessToken() {
+        return accessToken;
+    }
+
+    synchronized String refreshToken() {
+        return refreshToken;
+    }
+
+    synchronized void updateTokens(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,91 @@
+package org.reserv.reserveme.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and status counts per operation. Recording is wait-free (Recorder) so clients never
+// contend on the stats; nothing is kept while recording is off (seeding and warm-up).
+final class Stats {
+
+    // Microseconds, up to a minute, three significant digits
+    private static final long HIGHEST_MICROS = 60_000_000;
+
+    private final Map<Operation, PerOperation> operations = new EnumMap<>(Operation.class);
+    private volatile boolean recording;
+
+    Stats() {
+        for (Operation op : Operation.values()) {
+            operations.put(op, new PerOperation());
+        }
+    }
+
+    void startRecording() {
+        // Drop whatever was recorded before, e.g. by a client that raced the switch
+        operations.values().forEach(PerOperation::reset);
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    boolean isRecording() {
+        return recording;
+    }
+
+    // status 0 means the request never got a response (connect or I/O failure)
+    void record(Operation op, int status, long nanos) {
+        if (!recording) {
+            return;
+        }
+        PerOperation stats = operations.get(op);
+        stats.latency.recordValue(Math.min(HIGHEST_MICROS, Math.max(1, nanos / 1000)));
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    Map<Operation, Result> results() {
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        operations.forEach((op, stats) -> {
+            Histogram histogram = stats.latency.getIntervalHistogram();
+            histogram.setTag(op.tag());
+            Map<Integer, Long> statuses = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            results.put(op, new Result(histogram, statuses));
+        });
+        return results;
+    }
+
+    record Result(Histogram latencyMicros, Map<Integer, Long> statuses) {
+
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+
+        long count(int status) {
+            return statuses.getOrDefault(status, 0L);
+        }
+
+        long countInRange(int fromInclusive, int toExclusive) {
+            return statuses.entrySet().stream()
+                    .filter(e -> e.getKey() >= fromInclusive && e.getKey() < toExclusive)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+
+    private static final class PerOperation {
+        final Recorder latency = new Recorder(HIGHEST_MICROS, 3);
+        final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void reset() {
+            latency.reset();
+            statuses.clear();
+        }
+    }
+}
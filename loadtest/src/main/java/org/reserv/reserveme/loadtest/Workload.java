@@ -0,0 +1,272 @@
+package org.reserv.reserveme.loadtest;
+
+import tools.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Seeds users and slots through the public API, then runs closed-loop virtual-thread clients
+// over the configured operation mix. Bookings are skewed towards a few hot slots so that
+// concurrent requests for the same slot (and the resulting 409s) show up as they do in
+// production, and confirms/cancels act on reservations that earlier bookings created.
+final class Workload {
+
+    // Registration hashes a password per call; seeding faster than the server's hashing pool
+    // only produces 429s
+    private static final int SEED_CONCURRENCY = 16;
+    private static final int BULK_LIMIT = 1000;
+    private static final String PASSWORD = "load-test-password";
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    // Seeding traffic is not part of the measurement
+    private final Stats unrecorded = new Stats();
+
+    private final List<Session> users = new ArrayList<>();
+    private final List<Slot> slots = new ArrayList<>();
+    // Reservations waiting for their owner to confirm; bounded so a confirm-light mix can't grow it forever
+    private final BlockingQueue<Booking> pending = new ArrayBlockingQueue<>(10_000);
+    private Instant firstSlotStart;
+    private Operation[] mixTable;
+
+    private record Slot(UUID id, Session owner) {}
+
+    private record Booking(UUID reservationId, Session owner) {}
+
+    Workload(LoadTestConfig config) {
+        this.config = config;
+        this.api = new ApiClient(config.baseUrl());
+    }
+
+    void seed() throws Exception {
+        List<Session> owners = register("owner", config.owners());
+        users.addAll(register("user", config.users()));
+
+        // Whole hours from tomorrow on, half an hour each; owners publish the same windows,
+        // which is fine because only one owner's own slots may not overlap
+        firstSlotStart = Instant.now().truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.DAYS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Slot>>> published = new ArrayList<>();
+            for (Session owner : owners) {
+                published.add(executor.submit(() -> publishSlots(owner)));
+            }
+            for (Future<List<Slot>> f : published) {
+                slots.addAll(f.get());
+            }
+        }
+        // Hot slots are the first few of a shuffled list, so they spread over owners and days
+        Collections.shuffle(slots);
+        mixTable = mixTable(config.mix());
+    }
+
+    // Many logins released at the same instant, as after a deploy or a mass reconnect. The
+    // interesting numbers are the 429 share (hashing pool saturated) and the tail latency.
+    Stats loginBurst() throws InterruptedException {
+        Stats stats = new Stats();
+        stats.startRecording();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.loginBurst(); i++) {
+                Session session = users.get(i % users.size());
+                executor.submit(() -> {
+                    go.await();
+                    return api.post(stats, Operation.LOGIN_BURST, "/api/auth/login", null,
+                            Map.of("email", session.email, "password", session.password));
+                });
+            }
+            go.countDown();
+        }
+        stats.stopRecording();
+        return stats;
+    }
+
+    // Returns the recorded (post warm-up) wall time
+    Duration run(Stats stats) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        long measuredNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < config.clients(); c++) {
+                Session session = users.get(c % users.size());
+                executor.submit(() -> {
+                    while (!stop.get()) {
+                        step(stats, session);
+                    }
+                });
+            }
+            Thread.sleep(config.warmup());
+            stats.startRecording();
+            long start = System.nanoTime();
+            Thread.sleep(config.duration());
+            stats.stopRecording();
+            measuredNanos = System.nanoTime() - start;
+            stop.set(true);
+        }
+        return Duration.ofNanos(measuredNanos);
+    }
+
+    private void step(Stats stats, Session session) {
+        Operation op = mixTable[ThreadLocalRandom.current().nextInt(mixTable.length)];
+        switch (op) {
+            case BROWSE -> browse(stats, session);
+            case BOOK -> book(stats, session);
+            case CONFIRM -> confirm(stats, session);
+            case CANCEL -> cancel(stats, session);
+            case REFRESH -> refresh(stats, session);
+            case LOGIN -> login(stats, session);
+            case LOGIN_BURST -> throw new IllegalStateException("not part of the mix");
+        }
+    }
+
+    private void browse(Stats stats, Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant from = firstSlotStart.plus(random.nextInt(config.slotsPerOwner()), ChronoUnit.HOURS);
+        Instant to = from.plus(1, ChronoUnit.DAYS);
+        api.get(stats, Operation.BROWSE, "/api/slots?from=" + from + "&to=" + to + "&onlyFree=" + random.nextBoolean(),
+                session.accessToken());
+    }
+
+    private void book(Stats stats, Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.min(config.hotSlots(), slots.size());
+        Slot slot = hot > 0 && random.nextDouble() < config.hotFraction()
+                ? slots.get(random.nextInt(hot))
+                : slots.get(random.nextInt(slots.size()));
+        var response = api.post(stats, Operation.BOOK, "/api/reservations", session.accessToken(),
+                Map.of("slotId", slot.id()));
+        if (response.ok() && response.body() != null) {
+            UUID reservationId = UUID.fromString(response.body().get("id").asString());
+            session.reservations.offer(reservationId);
+            pending.offer(new Booking(reservationId, slot.owner()));
+        }
+    }
+
+    private void confirm(Stats stats, Session session) {
+        Booking booking = pending.poll();
+        if (booking == null) {
+            // Nothing to confirm yet; keep the client busy with the most common operation
+            browse(stats, session);
+            return;
+        }
+        api.put(stats, Operation.CONFIRM, "/api/reservations/" + booking.reservationId() + "/confirm",
+                booking.owner().accessToken());
+    }
+
+    private void cancel(Stats stats, Session session) {
+        UUID reservationId = session.reservations.poll();
+        if (reservationId == null) {
+            browse(stats, session);
+            return;
+        }
+        api.delete(stats, Operation.CANCEL, "/api/reservations/" + reservationId, session.accessToken());
+    }
+
+    private void refresh(Stats stats, Session session) {
+        synchronized (session) {
+            var response = api.post(stats, Operation.REFRESH, "/api/auth/refresh", null,
+                    Map.of("refreshToken", session.refreshToken()));
+            updateTokens(session, response);
+        }
+    }
+
+    private void login(Stats stats, Session session) {
+        synchronized (session) {
+            var response = api.post(stats, Operation.LOGIN, "/api/auth/login", null,
+                    Map.of("email", session.email, "password", session.password));
+            updateTokens(session, response);
+        }
+    }
+
+    private static void updateTokens(Session session, ApiClient.Response response) {
+        if (response.ok() && response.body() != null) {
+            session.updateTokens(response.body().get("accessToken").asString(),
+                    response.body().get("refreshToken").asString());
+        }
+    }
+
+    private List<Session> register(String kind, int count) throws Exception {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<Future<Session>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                String email = "lt-" + runId + "-" + kind + i + "@example.com";
+                String displayName = kind + " " + i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return register(email, displayName);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<Session> sessions = new ArrayList<>(count);
+        for (Future<Session> f : futures) {
+            sessions.add(f.get());
+        }
+        return sessions;
+    }
+
+    private Session register(String email, String displayName) throws InterruptedException {
+        Map<String, String> body = Map.of("email", email, "password", PASSWORD, "displayName", displayName);
+        for (int attempt = 1; ; attempt++) {
+            var response = api.post(unrecorded, Operation.LOGIN, "/api/auth/register", null, body);
+            if (response.ok() && response.body() != null) {
+                JsonNode tokens = response.body();
+                return new Session(email, PASSWORD, tokens.get("accessToken").asString(), tokens.get("refreshToken").asString());
+            }
+            if (response.status() != 429 || attempt == 10) {
+                throw new IllegalStateException("Registering " + email + " failed with HTTP " + response.status());
+            }
+            // Hashing pool is full; back off and retry
+            Thread.sleep(50L * attempt);
+        }
+    }
+
+    private List<Slot> publishSlots(Session owner) {
+        List<Slot> published = new ArrayList<>(config.slotsPerOwner());
+        for (int from = 0; from < config.slotsPerOwner(); from += BULK_LIMIT) {
+            int to = Math.min(config.slotsPerOwner(), from + BULK_LIMIT);
+            List<Map<String, String>> windows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Instant start = firstSlotStart.plus(i, ChronoUnit.HOURS);
+                windows.add(Map.of("startTime", start.toString(), "endTime", start.plus(30, ChronoUnit.MINUTES).toString()));
+            }
+            var response = api.post(unrecorded, Operation.BOOK, "/api/slots/bulk", owner.accessToken(), Map.of("slots", windows));
+            if (!response.ok() || response.body() == null) {
+                throw new IllegalStateException("Publishing slots for " + owner.email + " failed with HTTP " + response.status());
+            }
+            for (JsonNode id : response.body().get("ids")) {
+                published.add(new Slot(UUID.fromString(id.asString()), owner));
+            }
+        }
+        return published;
+    }
+
+    // One entry per unit of weight, so picking an operation is a single random index
+    private static Operation[] mixTable(Map<Operation, Integer> mix) {
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(op);
+            }
+        });
+        return table.toArray(Operation[]::new);
+    }
+}
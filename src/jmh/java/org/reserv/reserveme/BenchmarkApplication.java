@@ -0,0 +1,62 @@
+package org.reserv.reserveme;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// The application context on top of a throwaway local Postgres, for suites that measure
+// services and repositories end to end. Start it in a @Setup(Level.Trial) and close it in
+// the matching @TearDown.
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    // properties are "name=value" pairs on top of the defaults below
+    public static BenchmarkApplication start(String... properties) throws IOException {
+        // Devtools would otherwise restart the context in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            // Passed as arguments: builder properties are only defaults, and application.yml wins
+            List<String> args = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    // SecurityConfig needs the servlet stack; listen on a free port
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN",
+                    // Keep background polling out of the measurements
+                    "--app.outbox.relay.interval=1h"));
+            for (String property : properties) {
+                args.add("--" + property);
+            }
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ReserveMeApplication.class)
+                    .run(args.toArray(String[]::new));
+            return new BenchmarkApplication(postgres, context);
+        } catch (RuntimeException ex) {
+            postgres.close();
+            throw ex;
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
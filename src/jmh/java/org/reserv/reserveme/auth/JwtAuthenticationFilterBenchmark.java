@@ -0,0 +1,123 @@
+package org.reserv.reserveme.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reserv.reserveme.BenchmarkApplication;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserRepository;
+import org.reserv.reserveme.user.UserSnapshot;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// The per-request authentication path: header lookup, token verification (or cache hit),
+// principal and authority construction, and the security context write. Each invocation
+// uses a fresh request because OncePerRequestFilter marks the request it has seen.
+// authenticateLoadingUser is the shape this replaced: every request loads the user by the
+// token's subject from an embedded Postgres and builds a UserDetails plus web details.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean claimsCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+    private JwtService jwtService;
+
+    // Only started for the benchmark that reads users from the database
+    @State(Scope.Benchmark)
+    public static class Database {
+        BenchmarkApplication app;
+        UserRepository users;
+        String authorization;
+
+        @Setup
+        public void setUp() throws Exception {
+            app = BenchmarkApplication.start();
+            users = app.bean(UserRepository.class);
+            User user = users.save(new User("bench@example.com", "$2a$10$hash", "ROLE_USER", "Bench"));
+            // Same default secret as the JwtService under test, so the token verifies there
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            JwtService issuer = new JwtService("", new TokenClaimsCache(false, 1, registry), registry);
+            authorization = "Bearer " + issuer.generateAccessToken(user);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            app.close();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService = new JwtService("", new TokenClaimsCache(claimsCache, 10_000, registry), registry);
+        filter = new JwtAuthenticationFilter(jwtService);
+        String token = jwtService.generateAccessToken(
+                new UserSnapshot(UUID.randomUUID(), "bench@example.com", "ROLE_USER", "Bench", Instant.now()));
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reservations");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticateLoadingUser(Database db) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reservations");
+        request.addHeader("Authorization", db.authorization);
+        try {
+            String header = request.getHeader("Authorization");
+            Map<String, Object> claims = jwtService.parseToken(header.substring(7));
+            User user = db.users.findById(UUID.fromString((String) claims.get("sub"))).orElseThrow();
+            UserDetails details = org.springframework.security.core.userdetails.User
+                    .withUsername(user.getEmail())
+                    .password(user.getPasswordHash())
+                    .authorities(user.getRole())
+                    .build();
+            var auth = UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities());
+            auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(auth);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
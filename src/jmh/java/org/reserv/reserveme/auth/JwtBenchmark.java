@@ -0,0 +1,69 @@
+package org.reserv.reserveme.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reserv.reserveme.user.UserSnapshot;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Access-token issue and verification. parse with claimsCache=false measures the HMAC check and
+// claims parsing on every call; claimsCache=true is the steady state of a client reusing its token.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private UserSnapshot user;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService = new JwtService("", new TokenClaimsCache(false, 0, registry), registry);
+        user = new UserSnapshot(UUID.randomUUID(), "bench@example.com", "ROLE_USER", "Bench", Instant.now());
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Map<String, Object> parse(Parsing parsing) {
+        return parsing.jwtService.parseToken(parsing.token);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Parsing {
+
+        @Param({"true", "false"})
+        public boolean claimsCache;
+
+        JwtService jwtService;
+        String token;
+
+        @Setup
+        public void setUp() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            jwtService = new JwtService("", new TokenClaimsCache(claimsCache, 10_000, registry), registry);
+            token = jwtService.generateAccessToken(
+                    new UserSnapshot(UUID.randomUUID(), "bench@example.com", "ROLE_USER", "Bench", Instant.now()));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.reserv.reserveme.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+// What the request log costs the request thread: no logging, JSON encoded and written to a file
+// on the calling thread, and the same appender behind the bounded AsyncAppender the application
+// uses. Every request is logged (sample rate 1.0) and four threads log at once, so "sync" also
+// shows the contention on the appender lock. In "async" the queue may fill and drop events;
+// that is the policy being measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+    private static final String LOGGER = "org.reserv.reserveme.requests";
+
+    @Param({"off", "sync", "async"})
+    public String mode;
+
+    private final RequestLogFilter filter = new RequestLogFilter(true, 1.0, 1.0, 1.0);
+    private final FilterChain chain = (req, res) -> { };
+    private Appender<ILoggingEvent> appender;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        // StructuredLogEncoder looks the Spring environment up in the logger context
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        ch.qos.logback.classic.Logger logger = context.getLogger(LOGGER);
+        logger.setAdditive(false);
+        logger.detachAndStopAllAppenders();
+        if (mode.equals("off")) {
+            logger.setLevel(Level.OFF);
+            return;
+        }
+        logger.setLevel(Level.INFO);
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile("target/request-logging-benchmark-" + mode + ".log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+        appender = file;
+
+        if (mode.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        logger.addAppender(appender);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        ch.qos.logback.classic.Logger logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(LOGGER);
+        logger.detachAndStopAllAppenders();
+    }
+
+    @Benchmark
+    public int request() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/reservations");
+        // A given id, so the SecureRandom behind a generated one doesn't dominate "off"
+        request.addHeader(RequestLogFilter.REQUEST_ID_HEADER, "bench-request");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(201);
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,72 @@
+package org.reserv.reserveme.reservation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Overlap check of a new slot against one owner's existing windows: the sorted index used by
+// OwnerSlotIndex versus scanning every window, which is what the check cost before the index.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerSlotIndexBenchmark {
+
+    private static final Instant EPOCH = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Param({"10", "1000", "100000"})
+    public int slotsPerOwner;
+
+    private final OwnerSlotIndex.OwnerSlots index = new OwnerSlotIndex.OwnerSlots();
+    private final List<SlotInterval> windows = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        // Half-hour windows on the hour, leaving the second half of each hour free
+        for (int i = 0; i < slotsPerOwner; i++) {
+            Instant start = EPOCH.plusSeconds(3600L * i);
+            index.add(UUID.randomUUID(), start, start.plusSeconds(1800));
+            windows.add(new SlotInterval(UUID.randomUUID(), start, start.plusSeconds(1800)));
+        }
+    }
+
+    @Benchmark
+    public boolean sortedIndex() {
+        Instant start = candidateStart();
+        return index.overlaps(start, start.plusSeconds(900));
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        Instant start = candidateStart();
+        Instant end = start.plusSeconds(900);
+        for (SlotInterval w : windows) {
+            if (w.startTime().isBefore(end) && w.endTime().isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Quarter-hour starts across the owner's range, so about half of the candidates overlap
+    private Instant candidateStart() {
+        return EPOCH.plusSeconds(900L * ThreadLocalRandom.current().nextInt(slotsPerOwner * 4));
+    }
+}
@@ -0,0 +1,91 @@
+package org.reserv.reserveme.reservation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reserv.reserveme.BenchmarkApplication;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Reservation listings through ReservationService against an embedded Postgres: one user who
+// owns `reservations` booked slots and has requested as many slots from other owners, so the
+// incoming and outgoing sides of listReservationsForUser are the same size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationQueryBenchmark {
+
+    @Param({"100", "1000"})
+    public int reservations;
+
+    @Param({"BOTH", "OUTGOING", "INCOMING"})
+    public ReservationDirection direction;
+
+    private BenchmarkApplication app;
+    private ReservationService reservationService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() throws Exception {
+        app = BenchmarkApplication.start();
+        reservationService = app.bean(ReservationService.class);
+        UserRepository users = app.bean(UserRepository.class);
+        AvailabilitySlotRepository slotRepository = app.bean(AvailabilitySlotRepository.class);
+        ReservationRepository reservationRepository = app.bean(ReservationRepository.class);
+
+        User user = users.save(new User("bench@example.com", "h", "ROLE_USER", "Bench"));
+        User other = users.save(new User("other@example.com", "h", "ROLE_USER", "Other"));
+        userId = user.getId();
+
+        Instant start = Instant.now().plusSeconds(86_400);
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        for (int i = 0; i < reservations; i++) {
+            Instant at = start.plusSeconds(3600L * i);
+            slots.add(new AvailabilitySlot(user, at, at.plusSeconds(1800)));
+            slots.add(new AvailabilitySlot(other, at, at.plusSeconds(1800)));
+        }
+        slots = slotRepository.saveAll(slots);
+
+        List<Reservation> booked = new ArrayList<>();
+        for (AvailabilitySlot slot : slots) {
+            // incoming for slots the user owns, outgoing for the other owner's
+            boolean own = slot.getOwner() == user;
+            booked.add(new Reservation(slot.getId(), own ? other : user));
+        }
+        reservationRepository.saveAll(booked);
+        // Plan against real statistics rather than an empty-table guess
+        app.bean(JdbcTemplate.class).execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        app.close();
+    }
+
+    @Benchmark
+    public CursorPage<ReservationResponse> listForUserFirstPage() {
+        return reservationService.listReservationsForUser(userId, direction, null, KeysetCursor.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,101 @@
+package org.reserv.reserveme.reservation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Building response lists from entities and from projection rows, and serializing them.
+// Run with -prof gc to see allocation per list (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<Reservation> reservations;
+    private List<AvailabilitySlot> slots;
+    private List<ReservationRow> rows;
+    private List<ReservationResponse> responses;
+
+    @Setup
+    public void setUp() throws Exception {
+        User owner = withId(new User("owner@example.com", "h", "ROLE_USER", "Owner"));
+        User requester = withId(new User("requester@example.com", "h", "ROLE_USER", "Requester"));
+        Instant start = Instant.parse("2030-01-01T09:00:00Z");
+        reservations = new ArrayList<>(size);
+        slots = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AvailabilitySlot slot = withId(new AvailabilitySlot(owner, start.plusSeconds(3600L * i), start.plusSeconds(3600L * i + 1800)));
+            Reservation reservation = withId(new Reservation(slot.getId(), requester));
+            slots.add(slot);
+            reservations.add(reservation);
+            rows.add(new ReservationRow(reservation.getId(), reservation.getStatus(), reservation.getCreatedAt(),
+                    requester.getId(), requester.getEmail(), requester.getDisplayName(), requester.getCreatedAt(),
+                    slot.getId(), slot.getStartTime(), slot.getEndTime(), slot.getCreatedAt(),
+                    owner.getId(), owner.getEmail(), owner.getDisplayName(), owner.getCreatedAt()));
+        }
+        responses = ReservationService.toResponses(rows);
+    }
+
+    @Benchmark
+    public List<AvailabilitySlotResponse> slotsFromEntities() {
+        List<AvailabilitySlotResponse> out = new ArrayList<>(size);
+        for (AvailabilitySlot slot : slots) {
+            out.add(AvailabilitySlotResponse.from(slot));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<ReservationResponse> reservationsFromEntities() {
+        List<ReservationResponse> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            out.add(ReservationResponse.from(reservations.get(i), slots.get(i)));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<ReservationResponse> reservationsFromRows() {
+        return ReservationService.toResponses(rows);
+    }
+
+    @Benchmark
+    public byte[] serializeReservations() {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private static <T> T withId(T entity) throws Exception {
+        Field f = entity.getClass().getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(entity, UUID.randomUUID());
+        return entity;
+    }
+}
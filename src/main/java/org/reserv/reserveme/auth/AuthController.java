@@ -11,10 +11,12 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(UserService userService, JwtService jwtService) {
+    public AuthController(UserService userService, JwtService jwtService, RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
@@ -23,7 +25,7 @@ public class AuthController {
         // pass displayName through to user service
         User user = userService.registerUser(req.email(), req.password(), req.displayName());
         String access = jwtService.generateAccessToken(user);
-        String refresh = jwtService.generateRefreshToken(user);
+        String refresh = refreshTokenService.issue(user);
         return new AuthResponse(access, refresh);
     }
 
@@ -31,27 +33,17 @@ public class AuthController {
     public AuthResponse login(@RequestBody LoginRequest req) {
         User user = userService.authenticate(req.email(), req.password());
         String access = jwtService.generateAccessToken(user);
-        String refresh = jwtService.generateRefreshToken(user);
+        String refresh = refreshTokenService.issue(user);
         return new AuthResponse(access, refresh);
     }
 
     @PostMapping("/refresh")
     public AuthResponse refresh(@RequestBody RefreshRequest req) {
-        var tokenId = java.util.UUID.fromString(req.refreshToken());
-        var maybe = jwtService.findRefreshToken(tokenId);
-        if (maybe.isEmpty()) {
-            throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "Invalid refresh token");
-        }
-        var stored = maybe.get();
-        if (stored.getExpiresAt().isBefore(java.time.Instant.now())) {
-            jwtService.deleteRefreshToken(stored);
-            throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "Refresh token expired");
-        }
-        var user = stored.getUser();
+        var rotation = refreshTokenService.rotate(req.refreshToken())
+                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        var user = userService.findSnapshot(rotation.userId())
+                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "User not found"));
         String access = jwtService.generateAccessToken(user);
-        // Optionally rotate refresh token: delete stored and issue new one
-        jwtService.deleteRefreshToken(stored);
-        String newRefresh = jwtService.generateRefreshToken(user);
-        return new AuthResponse(access, newRefresh);
+        return new AuthResponse(access, rotation.token());
     }
 }
@@ -0,0 +1,38 @@
+package org.reserv.reserveme.auth;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The caller behind an access token, built once per request by JwtAuthenticationFilter.
+// Controllers take it as a method parameter (see AuthenticatedUserArgumentResolver).
+public record AuthenticatedUser(UUID id, String role, String email) implements AuthenticatedPrincipal {
+
+    // Also left on the request, for filters that run outside the security chain (request logging)
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    // A handful of roles exist, so share one immutable authority list per role
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    static AuthenticatedUser fromClaims(Map<String, Object> claims) {
+        return new AuthenticatedUser(UUID.fromString((String) claims.get("sub")),
+                (String) claims.get("role"), (String) claims.get("email"));
+    }
+
+    public List<GrantedAuthority> authorities() {
+        if (role == null) {
+            return List.of();
+        }
+        return AUTHORITIES.computeIfAbsent(role, r -> List.of(new SimpleGrantedAuthority(r)));
+    }
+
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
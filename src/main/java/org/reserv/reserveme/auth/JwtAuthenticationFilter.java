@@ -2,7 +2,6 @@ package org.reserv.reserveme.auth;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -11,11 +10,13 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String STREAM_PATH = "/api/slots/stream";
+    static final String STREAM_TOKEN_PARAM = "token";
+
     private final JwtService jwtService;
 
     public JwtAuthenticationFilter(JwtService jwtService) {
@@ -25,21 +26,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader("Authorization");
-        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            try {
-                Map<String, Object> claims = jwtService.parseToken(token);
-                if (claims != null) {
-                    String userId = (String) claims.get("sub");
-                    String role = (String) claims.get("role");
-                    var auth = new UsernamePasswordAuthenticationToken(userId, null, List.of(() -> role));
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+        try {
+            Map<String, Object> claims = null;
+            if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+                claims = jwtService.parseToken(header.substring(7));
+                // Stream tokens travel in URLs; they never stand in for an access token
+                if (claims != null && claims.containsKey(JwtService.SCOPE_CLAIM)) {
+                    claims = null;
+                }
+            } else if (isStreamRequest(request) && StringUtils.hasText(request.getParameter(STREAM_TOKEN_PARAM))) {
+                claims = jwtService.parseToken(request.getParameter(STREAM_TOKEN_PARAM));
+                if (claims != null && !JwtService.STREAM_SCOPE.equals(claims.get(JwtService.SCOPE_CLAIM))) {
+                    claims = null;
                 }
-            } catch (Exception e) {
-                // invalid token -> no auth
             }
+            if (claims != null) {
+                AuthenticatedUser user = AuthenticatedUser.fromClaims(claims);
+                var auth = UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+            }
+        } catch (Exception e) {
+            // invalid token -> no auth
         }
         filterChain.doFilter(request, response);
     }
+
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
 }
@@ -1,26 +1,41 @@
 package org.reserv.reserveme.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserSnapshot;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
+    // Browsers' EventSource cannot send an Authorization header, so GET /api/slots/stream also
+    // takes a token in the query string. Those tokens carry this scope, live for a minute and
+    // are accepted nowhere else (see JwtAuthenticationFilter).
+    public static final String SCOPE_CLAIM = "scope";
+    public static final String STREAM_SCOPE = "slot-stream";
+    public static final Duration STREAM_TOKEN_TTL = Duration.ofMinutes(1);
+
     private final Key key;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtParser parser;
+    private final TokenClaimsCache claimsCache;
+    private final Timer parseTimer;
 
-    public JwtService(@Value("${app.jwt.secret:}") String secret, RefreshTokenRepository refreshTokenRepository) {
+    public JwtService(@Value("${app.jwt.secret:}") String secret, TokenClaimsCache claimsCache, MeterRegistry meterRegistry) {
         // Use provided secret or a fallback (not recommended for production)
         if (secret == null || secret.isBlank()) {
             // Insecure fallback for local dev only
@@ -29,41 +44,55 @@ public class JwtService {
         // Ensure key length is sufficient for HMAC-SHA algorithms
         byte[] keyBytes = secret.getBytes();
         this.key = Keys.hmacShaKeyFor(keyBytes);
-        this.refreshTokenRepository = refreshTokenRepository;
+        // The parser is immutable and thread-safe, so build it once
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.claimsCache = claimsCache;
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("Signature verification and claims parsing of access tokens (cache misses only)")
+                .register(meterRegistry);
     }
 
     public String generateAccessToken(User user) {
+        return generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    public String generateAccessToken(UserSnapshot user) {
+        return generateAccessToken(user.id(), user.email(), user.role());
+    }
+
+    private String generateAccessToken(UUID userId, String email, String role) {
         Instant now = Instant.now();
         return Jwts.builder()
-                .setSubject(user.getId().toString())
-                .claim("email", user.getEmail())
-                .claim("role", user.getRole())
+                .setSubject(userId.toString())
+                .claim("email", email)
+                .claim("role", role)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plus(1, ChronoUnit.HOURS))) // 1h
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String generateRefreshToken(User user) {
-        // Create a DB-backed refresh token as a UUID and persist it with expiry
-        var expiresAt = Instant.now().plus(30, ChronoUnit.DAYS);
-        var refreshToken = new RefreshToken(user, expiresAt);
-        var saved = refreshTokenRepository.save(refreshToken);
-        return saved.getToken().toString();
+    public String generateStreamToken(AuthenticatedUser user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(user.id().toString())
+                .claim("email", user.email())
+                .claim("role", user.role())
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(STREAM_TOKEN_TTL)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
     }
 
     public Map<String, Object> parseToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claims;
+        return claimsCache.get(token, this::verify);
     }
 
-    public Key getKey() { return key; }
-
-    public java.util.Optional<RefreshToken> findRefreshToken(java.util.UUID token) {
-        return refreshTokenRepository.findByToken(token);
+    private Map<String, Object> verify(String token) {
+        Claims claims = parseTimer.record(() -> parser.parseClaimsJws(token).getBody());
+        return Map.copyOf(claims);
     }
 
-    public void deleteRefreshToken(RefreshToken t) {
-        refreshTokenRepository.delete(t);
-    }
+    public Key getKey() { return key; }
 }
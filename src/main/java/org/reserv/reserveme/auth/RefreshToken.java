@@ -5,34 +5,45 @@ import org.reserv.reserveme.user.User;
 import java.time.Instant;
 import java.util.UUID;
 
+// A token family: created at sign-in and rotated in place by RefreshTokenService.
+// Only hashes of the tokens handed to clients are stored; the ones rotated away from are
+// kept in refresh_token_spent_hashes to detect replays.
 @Entity
 @Table(name = "refresh_tokens")
 public class RefreshToken {
     @Id
     @GeneratedValue
     @Column(nullable = false, updatable = false)
-    private UUID token;
+    private UUID id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(name = "token_hash", nullable = false)
+    private byte[] tokenHash;
+
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
     protected RefreshToken() {}
 
-    public RefreshToken(User user, Instant expiresAt) {
+    public RefreshToken(User user, byte[] tokenHash, Instant expiresAt) {
         this.user = user;
+        this.tokenHash = tokenHash;
         this.expiresAt = expiresAt;
     }
 
-    public UUID getToken() { return token; }
+    public UUID getId() { return id; }
     public User getUser() { return user; }
+    public byte[] getTokenHash() { return tokenHash; }
     public Instant getExpiresAt() { return expiresAt; }
     public Instant getCreatedAt() { return createdAt; }
+    public Instant getRotatedAt() { return rotatedAt; }
 }
-
@@ -0,0 +1,50 @@
+package org.reserv.reserveme.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Deletes expired refresh tokens in small chunks, each in its own short transaction,
+// so the purge never holds locks on a large part of the table.
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+    private final Counter purged;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${app.auth.refresh.purge-batch-size:1000}") int batchSize,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = batchSize;
+        this.purged = Counter.builder("auth.refresh_tokens.purged")
+                .description("Expired refresh tokens removed by the purge job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh.purge-interval:1h}",
+            initialDelayString = "${app.auth.refresh.purge-interval:1h}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            batches++;
+        } while (deleted == batchSize);
+        purged.increment(total);
+        log.info("Purged {} expired refresh tokens in {} batches", total, batches);
+        return total;
+    }
+}
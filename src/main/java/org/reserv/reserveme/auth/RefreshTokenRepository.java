@@ -1,10 +1,63 @@
 package org.reserv.reserveme.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(UUID token);
-}
 
+    // Rotation is a single statement: it only matches a live family holding the presented
+    // hash, records that hash as spent and hands back the owner, so a second use of the same
+    // token finds nothing. Not @Modifying: that runs executeUpdate, which can only return a row
+    // count, and the owner comes from RETURNING. It still writes, so it needs its own
+    // read-write transaction (never the replica) and must not share a persistence context
+    // holding RefreshToken entities, which it would leave stale.
+    @Transactional
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE refresh_tokens
+                   SET token_hash = :newHash, expires_at = :expiresAt, rotated_at = :now
+                 WHERE token_hash = :presentedHash AND expires_at > :now
+                RETURNING id, user_id
+            ), spent AS (
+                INSERT INTO refresh_token_spent_hashes (token_hash, family_id)
+                SELECT :presentedHash, id FROM rotated
+            )
+            SELECT user_id FROM rotated
+            """, nativeQuery = true)
+    Optional<UUID> rotate(@Param("presentedHash") byte[] presentedHash,
+                          @Param("newHash") byte[] newHash,
+                          @Param("expiresAt") Instant expiresAt,
+                          @Param("now") Instant now);
+
+    // A token of any earlier generation is being replayed: revoke the whole family
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+             WHERE id = (SELECT family_id FROM refresh_token_spent_hashes WHERE token_hash = :presentedHash)
+            """, nativeQuery = true)
+    int revokeFamilyBySpentHash(@Param("presentedHash") byte[] presentedHash);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+             WHERE id IN (SELECT id FROM refresh_tokens WHERE user_id = :userId ORDER BY created_at DESC OFFSET :keep)
+            """, nativeQuery = true)
+    int deleteOldestBeyond(@Param("userId") UUID userId, @Param("keep") int keep);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+             WHERE id IN (SELECT id FROM refresh_tokens WHERE expires_at <= :now LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,82 @@
+package org.reserv.reserveme.auth;
+
+import org.reserv.reserveme.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+// Refresh tokens are random 256-bit strings. The database only ever sees their SHA-256,
+// so a leaked table cannot be replayed, and lookups go through a unique index on the hash.
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record Rotation(UUID userId, String token) {}
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final int maxPerUser;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.auth.refresh.ttl:30d}") Duration ttl,
+                               @Value("${app.auth.refresh.max-per-user:10}") int maxPerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.maxPerUser = maxPerUser;
+    }
+
+    // Starts a new family at sign-in; the user's oldest families beyond the cap are dropped
+    @Transactional
+    public String issue(User user) {
+        String token = newToken();
+        refreshTokenRepository.save(new RefreshToken(user, hash(token), Instant.now().plus(ttl)));
+        refreshTokenRepository.flush();
+        refreshTokenRepository.deleteOldestBeyond(user.getId(), maxPerUser);
+        return token;
+    }
+
+    public Optional<Rotation> rotate(String presented) {
+        if (presented == null || presented.isBlank()) {
+            return Optional.empty();
+        }
+        byte[] presentedHash = hash(presented);
+        String next = newToken();
+        Instant now = Instant.now();
+        Optional<UUID> userId = refreshTokenRepository.rotate(presentedHash, hash(next), now.plus(ttl), now);
+        if (userId.isPresent()) {
+            return Optional.of(new Rotation(userId.get(), next));
+        }
+        if (refreshTokenRepository.revokeFamilyBySpentHash(presentedHash) > 0) {
+            log.warn("Refresh token reuse detected; revoked its token family");
+        }
+        return Optional.empty();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
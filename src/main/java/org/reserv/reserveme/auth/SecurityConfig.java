@@ -1,5 +1,8 @@
 package org.reserv.reserveme.auth;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,6 +11,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
 @Configuration
 public class SecurityConfig {
@@ -26,8 +31,15 @@ public class SecurityConfig {
 
         http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
+        // Streaming exports finish on an async dispatch that was already authorized on the way in,
+        // and error dispatches must render the original status instead of a 403
         http.authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                // Health checks and Prometheus carry no token. Actuator is served only on
+                // management.server.port, which is never published; the API port gives /actuator
+                // no exemption even if that setting is dropped
+                .requestMatchers(SecurityConfig::onManagementServer).permitAll()
                 .anyRequest().authenticated()
         );
 
@@ -35,6 +47,12 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // True for requests handled by the management child context, i.e. on management.server.port
+    private static boolean onManagementServer(HttpServletRequest request) {
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return context != null && WebServerApplicationContext.hasServerNamespace(context, "management");
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
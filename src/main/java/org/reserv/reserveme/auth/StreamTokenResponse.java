@@ -0,0 +1,3 @@
+package org.reserv.reserveme.auth;
+
+public record StreamTokenResponse(String token, long expiresInSeconds) {}
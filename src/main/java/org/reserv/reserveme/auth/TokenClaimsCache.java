@@ -0,0 +1,79 @@
+package org.reserv.reserveme.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+// Verified claims keyed by a SHA-256 of the raw token. An entry lives until the token's own
+// exp, so a cached token is never accepted after it would have failed verification anyway.
+// Failed parses are not cached.
+@Component
+public class TokenClaimsCache {
+
+    private final Cache<String, Map<String, Object>> cache;
+
+    public TokenClaimsCache(@Value("${app.jwt.claims-cache.enabled:true}") boolean enabled,
+                            @Value("${app.jwt.claims-cache.max-entries:10000}") long maxEntries,
+                            MeterRegistry meterRegistry) {
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfter(new UntilTokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.claims");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public Map<String, Object> get(String token, Function<String, Map<String, Object>> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        return cache.get(sha256(token), key -> verifier.apply(token));
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Map<String, Object>> {
+        @Override
+        public long expireAfterCreate(String key, Map<String, Object> claims, long currentTime) {
+            Object exp = claims.get("exp");
+            if (!(exp instanceof Number seconds)) {
+                // Tokens without exp are not worth remembering
+                return 0;
+            }
+            long remainingMillis = seconds.longValue() * 1000 - System.currentTimeMillis();
+            return Math.max(0, remainingMillis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Map<String, Object> claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Map<String, Object> claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.reserv.reserveme.common;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+
+// Helpers for mapping database constraint violations back to the rule that was broken
+public final class Constraints {
+
+    private Constraints() {}
+
+    public static boolean violates(Throwable ex, String constraintName) {
+        String quoted = "\"" + constraintName + "\"";
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && constraintName.equalsIgnoreCase(cve.getConstraintName())) {
+                return true;
+            }
+            // Hibernate doesn't extract names for every SQL state (e.g. exclusion constraints,
+            // 23P01), but Postgres always quotes the constraint in the message
+            if (t instanceof SQLException sql && sql.getMessage() != null && sql.getMessage().contains(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
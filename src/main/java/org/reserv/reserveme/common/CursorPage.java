@@ -0,0 +1,28 @@
+package org.reserv.reserveme.common;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated listing. next is null on the last page.
+public record CursorPage<T>(List<T> items, KeysetCursor next) {
+
+    // A full page may have more rows behind it, so hand out the position of its last row
+    public static <T> CursorPage<T> of(List<T> items, int limit, Function<T, KeysetCursor> position) {
+        KeysetCursor next = items.size() == limit ? position.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, next);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), next);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        var response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, next.encode());
+        }
+        return response.body(items);
+    }
+}
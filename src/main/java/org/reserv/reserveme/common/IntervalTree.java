@@ -0,0 +1,93 @@
+package org.reserv.reserveme.common;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+// Immutable interval tree over half-open [start, end) intervals. Items are sorted by start and
+// laid out as an implicit balanced BST (the middle of every index range is its root), with the
+// largest end of each subtree kept alongside so whole subtrees that end too early are skipped.
+// Build is O(n log n); an overlap query is O(log n + k) and returns matches in start order.
+public final class IntervalTree<T> {
+
+    private static final IntervalTree<?> EMPTY = new IntervalTree<>(List.of(), t -> Instant.EPOCH, t -> Instant.EPOCH);
+
+    private final Object[] items;
+    private final Instant[] starts;
+    private final Instant[] ends;
+    private final Instant[] maxEnds;
+
+    private IntervalTree(Collection<T> source, Function<T, Instant> start, Function<T, Instant> end) {
+        List<T> sorted = new ArrayList<>(source);
+        sorted.sort(Comparator.comparing(start));
+        int n = sorted.size();
+        this.items = new Object[n];
+        this.starts = new Instant[n];
+        this.ends = new Instant[n];
+        this.maxEnds = new Instant[n];
+        for (int i = 0; i < n; i++) {
+            T item = sorted.get(i);
+            items[i] = item;
+            starts[i] = start.apply(item);
+            ends[i] = end.apply(item);
+        }
+        computeMaxEnd(0, n);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IntervalTree<T> empty() {
+        return (IntervalTree<T>) EMPTY;
+    }
+
+    public static <T> IntervalTree<T> of(Collection<T> items, Function<T, Instant> start, Function<T, Instant> end) {
+        return new IntervalTree<>(items, start, end);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    // Every item with start < to and end > from
+    public List<T> overlapping(Instant from, Instant to) {
+        List<T> out = new ArrayList<>();
+        collect(0, items.length, from, to, out);
+        return out;
+    }
+
+    private Instant computeMaxEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Instant max = ends[mid];
+        Instant left = computeMaxEnd(lo, mid);
+        Instant right = computeMaxEnd(mid + 1, hi);
+        if (left != null && left.isAfter(max)) max = left;
+        if (right != null && right.isAfter(max)) max = right;
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int lo, int hi, Instant from, Instant to, List<T> out) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (!maxEnds[mid].isAfter(from)) {
+            return;
+        }
+        collect(lo, mid, from, to, out);
+        if (!starts[mid].isBefore(to)) {
+            // everything to the right starts even later
+            return;
+        }
+        if (ends[mid].isAfter(from)) {
+            out.add((T) items[mid]);
+        }
+        collect(mid + 1, hi, from, to, out);
+    }
+}
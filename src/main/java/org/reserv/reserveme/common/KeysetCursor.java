@@ -0,0 +1,68 @@
+package org.reserv.reserveme.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+// Opaque position in a keyset-ordered listing: the (key, id) of the last row handed out, where
+// key is whatever instant that listing sorts by. Clients get it back in the X-Next-Cursor header
+// and pass it unchanged as ?cursor= to fetch the following page. Listings differ in sort key and
+// direction, so a cursor names the listing it was cut from and is refused by any other.
+public record KeysetCursor(String listing, Instant key, UUID id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    // Postgres compares uuids byte by byte; UUID.compareTo compares signed longs. Rows kept in
+    // memory are ordered with this so a cursor means the same thing there as in SQL.
+    public static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    public String encode() {
+        String raw = listing + "|" + key.getEpochSecond() + "." + key.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, String listing) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        KeysetCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            int dot = raw.indexOf('.', bar);
+            int colon = raw.indexOf(':', dot);
+            long seconds = Long.parseLong(raw.substring(bar + 1, dot));
+            int nanos = Integer.parseInt(raw.substring(dot + 1, colon));
+            decoded = new KeysetCursor(raw.substring(0, bar), Instant.ofEpochSecond(seconds, nanos),
+                    UUID.fromString(raw.substring(colon + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!decoded.listing().equals(listing)) {
+            throw new IllegalArgumentException("Cursor belongs to a different listing");
+        }
+        return decoded;
+    }
+
+    // True if a row at (key, id) comes after this cursor in ascending order
+    public boolean precedes(Instant key, UUID id) {
+        int byKey = key.compareTo(this.key);
+        return byKey > 0 || (byKey == 0 && ID_ORDER.compare(id, this.id) > 0);
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,80 @@
+package org.reserv.reserveme.common;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Writes a repository Stream as newline-delimited JSON. Rows are pulled from a server-side
+// cursor inside a read-only transaction and the persistence context is cleared after every
+// chunk, so memory stays flat no matter how many rows the table holds.
+@Component
+public class NdjsonExporter {
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final int CHUNK_SIZE = 500;
+
+    private static final byte NEWLINE = '\n';
+
+    private final TransactionTemplate readOnlyTx;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonExporter(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                          ObjectMapper objectMapper) {
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // mapper converts one chunk of entities at a time so it can batch any lookups it needs
+    public <E, R> ResponseEntity<StreamingResponseBody> export(Supplier<Stream<E>> source, Function<List<E>, List<R>> mapper) {
+        StreamingResponseBody body = out -> {
+            try {
+                readOnlyTx.executeWithoutResult(status -> {
+                    try (Stream<E> rows = source.get()) {
+                        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+                        var it = rows.iterator();
+                        while (it.hasNext()) {
+                            chunk.add(it.next());
+                            if (chunk.size() == CHUNK_SIZE) {
+                                writeChunk(out, mapper.apply(chunk));
+                                chunk.clear();
+                                entityManager.clear();
+                            }
+                        }
+                        writeChunk(out, mapper.apply(chunk));
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    private <R> void writeChunk(OutputStream out, List<R> rows) {
+        try {
+            for (R row : rows) {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
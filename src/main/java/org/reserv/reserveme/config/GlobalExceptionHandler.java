@@ -1,5 +1,7 @@
 package org.reserv.reserveme.config;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -22,8 +24,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getMessage(), Instant.now()));
     }
 
+    // Another request changed the same row (e.g. confirm racing a cancel); the client can refetch
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("Resource was modified concurrently", Instant.now()));
+    }
+
     @ExceptionHandler(org.reserv.reserveme.user.DuplicateEmailException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateEmail(org.reserv.reserveme.user.DuplicateEmailException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getMessage(), Instant.now()));
     }
+
+    @ExceptionHandler(org.reserv.reserveme.user.PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handleHashingBusy(org.reserv.reserveme.user.PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage(), Instant.now()));
+    }
 }
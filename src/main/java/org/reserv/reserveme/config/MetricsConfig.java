@@ -0,0 +1,27 @@
+package org.reserv.reserveme.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Controller timings come from Spring's http.server.requests observation, Hikari pool waits from
+// hikaricp.connections.acquire. This adds per-method service timers and per-request SQL counts.
+@Configuration
+public class MetricsConfig {
+
+    // Service classes are annotated @Timed(SERVICE_TIMER); tags are class, method and exception
+    public static final String SERVICE_TIMER = "service.method";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCapture() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCapture());
+    }
+}
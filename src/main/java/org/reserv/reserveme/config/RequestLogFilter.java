@@ -0,0 +1,120 @@
+package org.reserv.reserveme.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.reserv.reserveme.auth.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// One structured event per request on the "org.reserv.reserveme.requests" logger, carrying
+// requestId, userId, method, route, status and duration as fields. The request id is taken
+// from X-Request-Id when the caller sends a sane one, echoed back, and kept in the MDC so every
+// log line written while serving the request carries it. Events are sampled per category:
+// reads (GET/HEAD), writes, and errors (any 4xx/5xx), with errors kept in full by default.
+// Runs ahead of Spring Security so rejected calls (401/403) are logged too and security's own log
+// lines carry the request id; the caller is read from the request attribute JwtAuthenticationFilter leaves.
+@Component
+@Order(SecurityFilterProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+    static final String REQUEST_ID_MDC = "requestId";
+
+    private static final Logger log = LoggerFactory.getLogger("org.reserv.reserveme.requests");
+    private static final Pattern SANE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final boolean enabled;
+    private final double readRate;
+    private final double writeRate;
+    private final double errorRate;
+
+    public RequestLogFilter(@Value("${app.logging.requests.enabled:true}") boolean enabled,
+                            @Value("${app.logging.requests.sample-rate.reads:0.1}") double readRate,
+                            @Value("${app.logging.requests.sample-rate.writes:1.0}") double writeRate,
+                            @Value("${app.logging.requests.sample-rate.errors:1.0}") double errorRate) {
+        this.enabled = enabled;
+        this.readRate = readRate;
+        this.writeRate = writeRate;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC, requestId);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            try {
+                if (enabled && log.isInfoEnabled()) {
+                    logRequest(request, response, System.nanoTime() - start);
+                }
+            } finally {
+                MDC.remove(REQUEST_ID_MDC);
+            }
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long elapsedNanos) {
+        int status = response.getStatus();
+        if (!sampled(categoryOf(request.getMethod(), status))) {
+            return;
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route != null ? route : "UNKNOWN")
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", elapsedNanos / 1_000_000.0)
+                .addKeyValue("userId", callerId(request))
+                .log("request");
+    }
+
+    private boolean sampled(Category category) {
+        double rate = switch (category) {
+            case READ -> readRate;
+            case WRITE -> writeRate;
+            case ERROR -> errorRate;
+        };
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    enum Category { READ, WRITE, ERROR }
+
+    static Category categoryOf(String method, int status) {
+        if (status >= 400) {
+            return Category.ERROR;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? Category.READ : Category.WRITE;
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String given = request.getHeader(REQUEST_ID_HEADER);
+        if (given != null && SANE_REQUEST_ID.matcher(given).matches()) {
+            return given;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static UUID callerId(HttpServletRequest request) {
+        return request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) instanceof AuthenticatedUser user ? user.id() : null;
+    }
+}
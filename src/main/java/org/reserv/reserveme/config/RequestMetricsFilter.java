@@ -0,0 +1,86 @@
+package org.reserv.reserveme.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Records how many SQL statements each request issued (http.server.requests.sql, tagged like
+// http.server.requests) and, when the slow-request log is on, logs the statements of any request
+// slower than the threshold. Streaming responses are counted up to the point they go async.
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean slowLogEnabled;
+    private final long slowThresholdNanos;
+    private final int maxLoggedStatements;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${app.diagnostics.slow-requests.enabled:false}") boolean slowLogEnabled,
+                                @Value("${app.diagnostics.slow-requests.threshold:500ms}") Duration slowThreshold,
+                                @Value("${app.diagnostics.slow-requests.max-statements:50}") int maxLoggedStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowLogEnabled = slowLogEnabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxLoggedStatements = maxLoggedStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCapture.Capture capture = SqlStatementCapture.open(slowLogEnabled ? maxLoggedStatements : 0);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            SqlStatementCapture.close();
+            String uri = uriTemplate(request);
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(capture.count());
+            if (slowLogEnabled && elapsed >= slowThresholdNanos) {
+                logSlow(request, response, elapsed, capture);
+            }
+        }
+    }
+
+    private void logSlow(HttpServletRequest request, HttpServletResponse response, long elapsedNanos,
+                         SqlStatementCapture.Capture capture) {
+        StringBuilder sql = new StringBuilder();
+        for (String statement : capture.statements()) {
+            sql.append("\n  ").append(statement);
+        }
+        int omitted = capture.count() - capture.statements().size();
+        if (omitted > 0) {
+            sql.append("\n  ... ").append(omitted).append(" more");
+        }
+        log.warn("Slow request {} {} -> {} took {} ms with {} SQL statements{}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                Duration.ofNanos(elapsedNanos).toMillis(), capture.count(), sql);
+    }
+
+    // The matched route (/api/reservations/{reservationId}), so the tag stays low-cardinality
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
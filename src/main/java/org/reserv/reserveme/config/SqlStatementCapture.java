@@ -0,0 +1,59 @@
+package org.reserv.reserveme.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Counts the SQL Hibernate prepares on the current thread while a capture is open (see
+// RequestMetricsFilter). Work outside a request, like the outbox relay, is never captured.
+// Statement text is only kept when asked for, and only up to a limit.
+public class SqlStatementCapture implements StatementInspector {
+
+    private static final ThreadLocal<Capture> CURRENT = new ThreadLocal<>();
+
+    static Capture open(int keepStatements) {
+        Capture capture = new Capture(keepStatements);
+        CURRENT.set(capture);
+        return capture;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Capture capture = CURRENT.get();
+        if (capture != null) {
+            capture.add(sql);
+        }
+        return sql;
+    }
+
+    static final class Capture {
+        private final int keep;
+        private final List<String> statements;
+        private int count;
+
+        private Capture(int keep) {
+            this.keep = keep;
+            this.statements = keep > 0 ? new ArrayList<>() : List.of();
+        }
+
+        private void add(String sql) {
+            count++;
+            if (statements.size() < keep) {
+                statements.add(sql);
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        List<String> statements() {
+            return statements;
+        }
+    }
+}
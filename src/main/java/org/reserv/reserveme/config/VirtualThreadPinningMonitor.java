@@ -0,0 +1,77 @@
+package org.reserv.reserveme.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Streams the JFR jdk.VirtualThreadPinned event in-process. A virtual thread that blocks while
+// inside a synchronized block (or native frame) keeps its carrier thread busy; every such
+// episode longer than the threshold is recorded in the jvm.threads.virtual.pinned timer.
+// On by default whenever spring.threads.virtual.enabled is.
+@Component
+public class VirtualThreadPinningMonitor {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer pinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.diagnostics.pinning.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                                       @Value("${app.diagnostics.pinning.threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual thread pinning longer than {}", threshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned for {} at {}", event.getDuration(), topFrame(event));
+        }
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "<no stack trace>";
+        }
+        RecordedFrame frame = event.getStackTrace().getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.reserv.reserveme.outbox;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.UUID;
+
+// Records an event in the caller's transaction, so it is committed (or rolled back)
+// together with the change it describes. OutboxRelay publishes it afterwards.
+@Component
+public class Outbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UUID aggregateId, String type, Object payload) {
+        // Flush the aggregate's pending changes first so its row locks are held before the
+        // outbox id is drawn: a concurrent writer to the same aggregate then always gets a
+        // later id, which is what per-aggregate ordering relies on
+        outboxRepository.flush();
+        outboxRepository.save(new OutboxEvent(aggregateId, type, objectMapper.writeValueAsString(payload)));
+    }
+}
@@ -0,0 +1,61 @@
+package org.reserv.reserveme.outbox;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private String type;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    // Set when the event was dead-lettered after too many failed deliveries
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(UUID aggregateId, String type, String payload) {
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public UUID getAggregateId() { return aggregateId; }
+    public String getType() { return type; }
+    public String getPayload() { return payload; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getPublishedAt() { return publishedAt; }
+    public int getAttempts() { return attempts; }
+    public String getLastError() { return lastError; }
+    public Instant getFailedAt() { return failedAt; }
+}
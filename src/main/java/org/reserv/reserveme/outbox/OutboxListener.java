@@ -0,0 +1,14 @@
+package org.reserv.reserveme.outbox;
+
+// In-process consumer of outbox events (notifications, calendar sync, analytics...). Every
+// OutboxListener bean receives every event. Delivery is at-least-once, so handlers must be
+// idempotent, e.g. by remembering the last OutboxMessage#id they processed.
+//
+// Events for the same aggregate arrive in the order they were written. Throwing holds back
+// that aggregate's remaining events until the next relay run; other aggregates carry on.
+// After app.outbox.relay.max-attempts failures the event is dead-lettered and skipped, and
+// the aggregate's later events are delivered without it.
+public interface OutboxListener {
+
+    void on(OutboxMessage message);
+}
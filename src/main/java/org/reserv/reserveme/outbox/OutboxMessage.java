@@ -0,0 +1,12 @@
+package org.reserv.reserveme.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// What listeners see of an outbox row. payload is the JSON written by Outbox#append.
+public record OutboxMessage(long id, UUID aggregateId, String type, String payload, Instant createdAt) {
+
+    static OutboxMessage from(OutboxEvent e) {
+        return new OutboxMessage(e.getId(), e.getAggregateId(), e.getType(), e.getPayload(), e.getCreatedAt());
+    }
+}
@@ -0,0 +1,180 @@
+package org.reserv.reserveme.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Publishes committed outbox events to the OutboxListener beans in batches, oldest first.
+// A batch is delivered and marked published in one transaction that also holds a Postgres
+// advisory lock, so with several instances only one relays at a time and the order holds.
+// Anything not marked (crash, listener failure) is delivered again on a later run. An event
+// that fails max-attempts times is dead-lettered instead, so it can't hold its aggregate back
+// forever; see V12 for requeueing it.
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Arbitrary but fixed key for pg_try_advisory_xact_lock ("outbox" in ASCII)
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<OutboxListener> listeners;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository, ObjectProvider<OutboxListener> listeners,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.relay.max-attempts:20}") int maxAttempts,
+                       @Value("${app.outbox.retention:7d}") Duration retention,
+                       MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.outbox.relay.batch-size must be positive");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("app.outbox.relay.max-attempts must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.published = Counter.builder("outbox.published")
+                .description("Outbox events delivered to every listener")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures")
+                .description("Outbox deliveries that threw")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.dead.lettered")
+                .description("Outbox events given up on after app.outbox.relay.max-attempts failures")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    // One pass over the unpublished tail, paging by id. Held-back aggregates are remembered
+    // across pages, so a full page of them doesn't stop delivery for everything behind it.
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:500ms}")
+    public int relay() {
+        Set<UUID> held = new HashSet<>();
+        int total = 0;
+        long afterId = 0;
+        Page page;
+        do {
+            long from = afterId;
+            page = tx.execute(status -> relayBatch(from, held));
+            total += page.delivered();
+            afterId = page.lastId();
+        } while (page.read() == batchSize);
+        updateLag();
+        return total;
+    }
+
+    private record Page(int read, int delivered, long lastId) {}
+
+    private Page relayBatch(long afterId, Set<UUID> held) {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return new Page(0, 0, afterId);
+        }
+        List<OutboxEvent> batch = outboxRepository.findUnpublishedAfter(afterId, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return new Page(0, 0, afterId);
+        }
+        List<OutboxListener> targets = listeners.orderedStream().toList();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (held.contains(event.getAggregateId())) {
+                continue;
+            }
+            OutboxMessage message = OutboxMessage.from(event);
+            try {
+                for (OutboxListener listener : targets) {
+                    listener.on(message);
+                }
+                delivered.add(event.getId());
+            } catch (RuntimeException ex) {
+                // Hold back the rest of this aggregate's events so nobody sees them out of order
+                held.add(event.getAggregateId());
+                recordFailure(event, ex);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.markPublished(delivered, Instant.now());
+            published.increment(delivered.size());
+        }
+        return new Page(batch.size(), delivered.size(), batch.getLast().getId());
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException ex) {
+        failures.increment();
+        int attempts = event.getAttempts() + 1;
+        String error = String.valueOf(ex);
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (attempts < maxAttempts) {
+            outboxRepository.recordFailure(event.getId(), attempts, error, null);
+            log.warn("Outbox event {} ({}) failed (attempt {} of {}), retrying on the next run",
+                    event.getId(), event.getType(), attempts, maxAttempts, ex);
+            return;
+        }
+        // The aggregate's later events go out from the next run on, without this one
+        outboxRepository.recordFailure(event.getId(), attempts, error, Instant.now());
+        deadLettered.increment();
+        log.error("Outbox event {} ({}) for aggregate {} failed {} times; dead-lettered",
+                event.getId(), event.getType(), event.getAggregateId(), attempts, ex);
+    }
+
+    private void updateLag() {
+        lagMillis.set(outboxRepository.findOldestUnpublishedCreatedAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    // Published events are only kept for replaying by hand; drop them in small chunks
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:1h}",
+            initialDelayString = "${app.outbox.purge-interval:1h}")
+    public int purgePublished() {
+        Instant cutoff = Instant.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deletePublishedBatch(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Purged {} published outbox events", total);
+        }
+        return total;
+    }
+}
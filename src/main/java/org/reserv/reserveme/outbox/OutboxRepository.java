@@ -0,0 +1,45 @@
+package org.reserv.reserveme.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Transaction-scoped advisory lock: only one node relays at a time, which is what keeps
+    // the publishing order intact across instances
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    // Dead-lettered events are skipped; afterId lets one relay run page past held-back events
+    @Query("select e from OutboxEvent e where e.publishedAt is null and e.failedAt is null and e.id > :afterId order by e.id")
+    List<OutboxEvent> findUnpublishedAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :now where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = :attempts, e.lastError = :error, e.failedAt = :failedAt where e.id = :id")
+    int recordFailure(@Param("id") long id, @Param("attempts") int attempts, @Param("error") String error,
+                      @Param("failedAt") Instant failedAt);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.publishedAt is null and e.failedAt is null")
+    Optional<Instant> findOldestUnpublishedCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_events
+             WHERE id IN (SELECT id FROM outbox_events WHERE published_at < :cutoff LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deletePublishedBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
@@ -10,13 +10,17 @@ import java.util.UUID;
 @Getter
 @Entity
 @Table(name = "availability_slots")
+// For the few use cases that render the owner; everything else only needs owner_user_id
+@NamedEntityGraph(name = AvailabilitySlot.WITH_OWNER, attributeNodes = @NamedAttributeNode("owner"))
 public class AvailabilitySlot {
+    public static final String WITH_OWNER = "AvailabilitySlot.owner";
+
     @Id
     @GeneratedValue
     @Column(nullable = false, updatable = false)
     private UUID id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_user_id", nullable = false)
     private User owner;
 
@@ -1,55 +1,98 @@
 package org.reserv.reserveme.reservation;
 
+import org.reserv.reserveme.auth.AuthenticatedUser;
+import org.reserv.reserveme.auth.JwtService;
+import org.reserv.reserveme.auth.StreamTokenResponse;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.common.NdjsonExporter;
 import org.reserv.reserveme.reservation.dto.AvailabilitySlotRequest;
 import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.BulkSlotRequest;
+import org.reserv.reserveme.reservation.dto.BulkSlotResponse;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/slots")
 public class AvailabilitySlotController {
 
     private final AvailabilitySlotService slotService;
+    private final NdjsonExporter exporter;
+    private final SlotEventBroadcaster broadcaster;
+    private final JwtService jwtService;
 
-    public AvailabilitySlotController(AvailabilitySlotService slotService) {
+    public AvailabilitySlotController(AvailabilitySlotService slotService, NdjsonExporter exporter,
+                                      SlotEventBroadcaster broadcaster, JwtService jwtService) {
         this.slotService = slotService;
+        this.exporter = exporter;
+        this.broadcaster = broadcaster;
+        this.jwtService = jwtService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public AvailabilitySlotResponse create(@RequestBody AvailabilitySlotRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() != null) {
-            try {
-                UUID ownerId = UUID.fromString(auth.getPrincipal().toString());
-                request.setOwnerId(ownerId);
-            } catch (Exception ignored) {
-            }
-        }
-        AvailabilitySlot s = slotService.createSlot(request);
-        return AvailabilitySlotResponse.from(s);
+    public AvailabilitySlotResponse create(@RequestBody AvailabilitySlotRequest request, AuthenticatedUser caller) {
+        request.setOwnerId(caller.id());
+        return slotService.createSlot(request);
+    }
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BulkSlotResponse createBulk(@RequestBody BulkSlotRequest request, AuthenticatedUser caller) {
+        return new BulkSlotResponse(slotService.createSlots(caller.id(), request));
     }
+
     @DeleteMapping("/{slotId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable UUID slotId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        UUID requesterId = UUID.fromString(auth.getPrincipal().toString());
-
-        slotService.deleteSlot(slotId, requesterId);
+    public void delete(@PathVariable UUID slotId, AuthenticatedUser caller) {
+        slotService.deleteSlot(slotId, caller.id());
     }
     @GetMapping
-    public List<AvailabilitySlotResponse> list() {
-        return slotService.listAll().stream().map(AvailabilitySlotResponse::from).collect(Collectors.toList());
+    public ResponseEntity<List<AvailabilitySlotResponse>> list(@RequestParam(required = false) Instant from,
+                                                               @RequestParam(required = false) Instant to,
+                                                               @RequestParam(required = false) UUID ownerId,
+                                                               @RequestParam(defaultValue = "false") boolean onlyFree,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        if (from == null && to == null && ownerId == null && !onlyFree) {
+            return slotService.listPage(KeysetCursor.decode(cursor, AvailabilitySlotService.LISTING), pageSize).toResponse();
+        }
+        return slotService.search(from, to, ownerId, onlyFree,
+                KeysetCursor.decode(cursor, AvailabilitySlotService.SEARCH_LISTING), pageSize).toResponse();
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonExporter.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return exporter.export(slotService::streamAll, AvailabilitySlotService::toResponses);
+    }
+
+    // Live slot changes instead of polling the list; ownerId narrows it to one owner's slots.
+    // EventSource clients authenticate with ?token= from POST /stream/token instead of a header.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) UUID ownerId) {
+        return broadcaster.subscribe(ownerId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many stream subscribers"));
+    }
+
+    @PostMapping("/stream/token")
+    public StreamTokenResponse streamToken(AuthenticatedUser caller) {
+        return new StreamTokenResponse(jwtService.generateStreamToken(caller), JwtService.STREAM_TOKEN_TTL.toSeconds());
     }
 
     @GetMapping("/byOwner")
-    public List<AvailabilitySlotResponse> listByOwner(@RequestParam UUID ownerId) {
-        return slotService.listByOwner(ownerId).stream().map(AvailabilitySlotResponse::from).collect(Collectors.toList());
+    public ResponseEntity<List<AvailabilitySlotResponse>> listByOwner(@RequestParam UUID ownerId,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      @RequestParam(required = false) String cursor) {
+        return slotService.listByOwner(ownerId, KeysetCursor.decode(cursor, AvailabilitySlotService.OWNER_LISTING),
+                KeysetCursor.clampLimit(limit)).toResponse();
     }
 }
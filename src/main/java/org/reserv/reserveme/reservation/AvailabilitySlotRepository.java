@@ -1,10 +1,75 @@
 package org.reserv.reserveme.reservation;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.repository.query.Param;
 
-public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, UUID> {
-    // Add custom query methods if needed
-    List<AvailabilitySlot> findByOwnerId(UUID ownerId);
+public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, UUID>, JpaSpecificationExecutor<AvailabilitySlot> {
+    // Read endpoints project straight into SlotRow instead of loading slot and owner entities
+    String ROW = """
+            select new org.reserv.reserveme.reservation.SlotRow(
+                s.id, s.startTime, s.endTime, s.createdAt, o.id, o.email, o.displayName, o.createdAt)
+            from AvailabilitySlot s join s.owner o
+            """;
+
+    // One owner's slots in (startTime, id) order along idx_availability_slots_owner_start; the
+    // *After variant continues past a cursor
+    @Query(ROW + "where o.id = :ownerId order by s.startTime, s.id")
+    List<SlotRow> findRowsByOwnerId(@Param("ownerId") UUID ownerId, Limit limit);
+
+    @Query(ROW + """
+            where o.id = :ownerId
+              and (s.startTime > :startTime or (s.startTime = :startTime and s.id > :id))
+            order by s.startTime, s.id
+            """)
+    List<SlotRow> findRowsByOwnerIdAfter(@Param("ownerId") UUID ownerId, @Param("startTime") Instant startTime,
+                                         @Param("id") UUID id, Limit limit);
+
+    // Loads a batch of slots together with their owners in a single round trip
+    @EntityGraph(AvailabilitySlot.WITH_OWNER)
+    @Query("select s from AvailabilitySlot s where s.id in :ids")
+    List<AvailabilitySlot> findAllWithOwnerByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new org.reserv.reserveme.reservation.SlotInterval(s.id, s.startTime, s.endTime) from AvailabilitySlot s where s.owner.id = :ownerId")
+    List<SlotInterval> findIntervalsByOwnerId(@Param("ownerId") UUID ownerId);
+
+    @Query("select new org.reserv.reserveme.reservation.SlotInterval(s.id, s.startTime, s.endTime) from AvailabilitySlot s where s.owner.id = :ownerId and s.startTime < :to and s.endTime > :from")
+    List<SlotInterval> findIntervalsByOwnerIdInRange(@Param("ownerId") UUID ownerId, @Param("from") Instant from, @Param("to") Instant to);
+
+    // Ownership checks compare the foreign key; the owner row is never read
+    @Query("select s.owner.id from AvailabilitySlot s where s.id = :id")
+    Optional<UUID> findOwnerIdById(@Param("id") UUID id);
+
+    @Query("select count(s) > 0 from AvailabilitySlot s where s.owner.id = :ownerId and s.startTime < :end and s.endTime > :start")
+    boolean existsOverlapping(@Param("ownerId") UUID ownerId, @Param("start") Instant start, @Param("end") Instant end);
+
+    @EntityGraph(AvailabilitySlot.WITH_OWNER)
+    @Query("select s from AvailabilitySlot s where s.endTime > :after")
+    List<AvailabilitySlot> findUpcomingWithOwner(@Param("after") Instant after);
+
+    // Keyset pages in (createdAt, id) order; the *After variant continues past a cursor
+    @Query(ROW + "order by s.createdAt, s.id")
+    List<SlotRow> findPage(Limit limit);
+
+    @Query(ROW + """
+            where s.createdAt > :createdAt or (s.createdAt = :createdAt and s.id > :id)
+            order by s.createdAt, s.id
+            """)
+    List<SlotRow> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ROW + "order by s.createdAt, s.id")
+    Stream<SlotRow> streamAll();
 }
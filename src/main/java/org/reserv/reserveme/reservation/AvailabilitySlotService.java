@@ -1,49 +1,310 @@
 package org.reserv.reserveme.reservation;
 
+import io.micrometer.core.annotation.Timed;
+import org.reserv.reserveme.config.MetricsConfig;
+import org.reserv.reserveme.common.Constraints;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.common.KeysetCursor;
 import org.reserv.reserveme.reservation.dto.AvailabilitySlotRequest;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.BulkSlotRequest;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
 import org.reserv.reserveme.user.UserRepository;
+import org.reserv.reserveme.user.UserSnapshot;
+import org.reserv.reserveme.user.dto.UserResponse;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class AvailabilitySlotService {
+    static final String NO_OVERLAP_CONSTRAINT = "ex_availability_slots_owner_no_overlap";
+    static final int MAX_BULK_SLOTS = 1000;
+
+    // Keyset listings: every slot by (created_at, id), and searches and one owner's slots by
+    // (start_time, id), all ascending
+    public static final String LISTING = "slots";
+    public static final String SEARCH_LISTING = "slots.search";
+    public static final String OWNER_LISTING = "slots.owner";
+
+    // The database's (start_time, id) order, for slots served from the interval cache
+    static final Comparator<AvailabilitySlotResponse> SEARCH_ORDER = Comparator
+            .comparing(AvailabilitySlotResponse::startTime)
+            .thenComparing(AvailabilitySlotResponse::id, KeysetCursor.ID_ORDER);
+
     private final AvailabilitySlotRepository slotRepository;
     private final UserRepository userRepository;
+    private final SlotIntervalCache intervalCache;
+    private final OwnerSlotIndex overlapIndex;
+    private final ApplicationEventPublisher events;
+    private final UserCache userCache;
+    private final ReservationService reservationService;
 
-    public AvailabilitySlotService(AvailabilitySlotRepository slotRepository, UserRepository userRepository) {
+    public AvailabilitySlotService(AvailabilitySlotRepository slotRepository, UserRepository userRepository,
+                                   SlotIntervalCache intervalCache, OwnerSlotIndex overlapIndex,
+                                   ApplicationEventPublisher events, UserCache userCache,
+                                   ReservationService reservationService) {
         this.slotRepository = slotRepository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.reservationService = reservationService;
+        this.intervalCache = intervalCache;
+        this.overlapIndex = overlapIndex;
+        this.events = events;
     }
     public void deleteSlot(UUID slotId, UUID requesterId) {
         var slot = slotRepository.findById(slotId)
                 .orElseThrow(() -> new IllegalArgumentException("Slot not found"));
 
+        // The owner is a lazy proxy; reading its id doesn't load the user
         if (!slot.getOwner().getId().equals(requesterId)) {
             throw new SecurityException("Not slot owner");
         }
 
+        // Deleting the slot cascades to its reservations; the live one is rejected first so its
+        // requester, the outbox and stream subscribers hear about it
+        reservationService.rejectLiveReservationsOnSlot(slotId);
         slotRepository.delete(slot);
+        events.publishEvent(SlotEvent.deleted(slotId, requesterId));
     }
 
-    public AvailabilitySlot createSlot(AvailabilitySlotRequest request) {
-        var owner = userRepository.findById(request.getOwnerId()).orElseThrow(() -> new IllegalArgumentException("Owner not found"));
+    public AvailabilitySlotResponse createSlot(AvailabilitySlotRequest request) {
+        if (request.getOwnerId() == null) {
+            throw new IllegalArgumentException("Owner not found");
+        }
+        UserSnapshot ownerSnapshot = userCache.findById(request.getOwnerId())
+                .orElseThrow(() -> new IllegalArgumentException("Owner not found"));
+        User owner = userRepository.getReferenceById(ownerSnapshot.id());
         if (request.getStartTime() == null || request.getEndTime() == null || !request.getStartTime().isBefore(request.getEndTime())) {
             throw new IllegalArgumentException("Invalid start/end time");
         }
-        AvailabilitySlot slot = new AvailabilitySlot(owner, request.getStartTime(), request.getEndTime());
-        return slotRepository.save(slot);
+        rejectOverlap(owner.getId(), request.getStartTime(), request.getEndTime());
+
+        AvailabilitySlot slot;
+        try {
+            slot = slotRepository.saveAndFlush(new AvailabilitySlot(owner, request.getStartTime(), request.getEndTime()));
+        } catch (DataIntegrityViolationException ex) {
+            if (Constraints.violates(ex, NO_OVERLAP_CONSTRAINT)) {
+                // Another node (or request) got there first; our index missed it
+                overlapIndex.invalidate(owner.getId());
+                throw new IllegalStateException("Slot overlaps an existing slot");
+            }
+            throw ex;
+        }
+        // Rendered from the snapshot so the owner reference is never loaded
+        AvailabilitySlotResponse response = AvailabilitySlotResponse.from(slot, UserResponse.from(ownerSnapshot));
+        events.publishEvent(SlotEvent.created(response));
+        return response;
+    }
+
+    // Validates the whole batch up front, then inserts it in one transaction. Inserts go out as
+    // JDBC batches (hibernate.jdbc.batch_size); slot ids are client-generated UUIDs, so Hibernate
+    // does not need a round trip per row.
+    public List<UUID> createSlots(UUID ownerId, BulkSlotRequest request) {
+        if (ownerId == null || !userCache.exists(ownerId)) {
+            throw new IllegalArgumentException("Owner not found");
+        }
+        List<BulkSlotRequest.Window> windows = expand(request);
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("No slots to create");
+        }
+        if (windows.size() > MAX_BULK_SLOTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SLOTS + " slots per request");
+        }
+        // Every window is checked before sorting, which can't order missing start times
+        for (var w : windows) {
+            if (w == null || w.startTime() == null || w.endTime() == null || !w.startTime().isBefore(w.endTime())) {
+                throw new IllegalArgumentException("Invalid start/end time");
+            }
+        }
+        windows.sort(Comparator.comparing(BulkSlotRequest.Window::startTime));
+        for (int i = 1; i < windows.size(); i++) {
+            if (windows.get(i - 1).endTime().isAfter(windows.get(i).startTime())) {
+                throw new IllegalArgumentException("Slots in the request overlap each other");
+            }
+        }
+
+        // One range query covers every existing slot the batch could collide with
+        Instant first = windows.get(0).startTime();
+        Instant last = windows.stream().map(BulkSlotRequest.Window::endTime).max(Comparator.naturalOrder()).orElseThrow();
+        TreeMap<Instant, Instant> existing = new TreeMap<>();
+        for (SlotInterval s : slotRepository.findIntervalsByOwnerIdInRange(ownerId, first, last)) {
+            existing.put(s.startTime(), s.endTime());
+        }
+        for (var w : windows) {
+            var before = existing.floorEntry(w.startTime());
+            var after = existing.higherEntry(w.startTime());
+            if ((before != null && before.getValue().isAfter(w.startTime())) || (after != null && after.getKey().isBefore(w.endTime()))) {
+                throw new IllegalStateException("Slot overlaps an existing slot");
+            }
+        }
+
+        User owner = userRepository.getReferenceById(ownerId);
+        List<AvailabilitySlot> slots = new ArrayList<>(windows.size());
+        for (var w : windows) {
+            slots.add(new AvailabilitySlot(owner, w.startTime(), w.endTime()));
+        }
+        try {
+            slotRepository.saveAll(slots);
+            slotRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (Constraints.violates(ex, NO_OVERLAP_CONSTRAINT)) {
+                overlapIndex.invalidate(ownerId);
+                throw new IllegalStateException("Slot overlaps an existing slot");
+            }
+            throw ex;
+        }
+
+        List<SlotEvent> created = new ArrayList<>(slots.size());
+        for (var slot : slots) {
+            created.add(SlotEvent.created(AvailabilitySlotResponse.from(slot)));
+        }
+        events.publishEvent(new SlotBatchEvent(created));
+        return slots.stream().map(AvailabilitySlot::getId).toList();
+    }
+
+    private static List<BulkSlotRequest.Window> expand(BulkSlotRequest request) {
+        List<BulkSlotRequest.Window> windows = new ArrayList<>();
+        if (request.slots() != null) {
+            windows.addAll(request.slots());
+        }
+        var rule = request.recurrence();
+        if (rule == null) {
+            return windows;
+        }
+        if (rule.frequency() != null && !"WEEKLY".equalsIgnoreCase(rule.frequency())) {
+            throw new IllegalArgumentException("Only WEEKLY recurrence is supported");
+        }
+        if (rule.startTime() == null || rule.endTime() == null || !rule.startTime().isBefore(rule.endTime())) {
+            throw new IllegalArgumentException("Invalid start/end time");
+        }
+        if (rule.count() == null && rule.until() == null) {
+            throw new IllegalArgumentException("Recurrence needs count or until");
+        }
+        if (rule.count() != null && rule.count() < 1) {
+            throw new IllegalArgumentException("Recurrence count must be positive");
+        }
+        ZoneId zone;
+        try {
+            zone = rule.timeZone() != null ? ZoneId.of(rule.timeZone()) : ZoneOffset.UTC;
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Unknown time zone: " + rule.timeZone());
+        }
+        ZonedDateTime start = rule.startTime().atZone(zone);
+        ZonedDateTime end = rule.endTime().atZone(zone);
+        int limit = rule.count() != null ? rule.count() : MAX_BULK_SLOTS + 1;
+        for (int week = 0; week < limit; week++) {
+            Instant s = start.plusWeeks(week).toInstant();
+            if (rule.until() != null && s.isAfter(rule.until())) {
+                break;
+            }
+            if (windows.size() > MAX_BULK_SLOTS) {
+                // over the limit; the caller rejects the request
+                break;
+            }
+            windows.add(new BulkSlotRequest.Window(s, end.plusWeeks(week).toInstant()));
+        }
+        return windows;
     }
 
-    public List<AvailabilitySlot> listAll() {
-        return slotRepository.findAll();
+    private void rejectOverlap(UUID ownerId, Instant start, Instant end) {
+        if (!overlapIndex.isEnabled() || !overlapIndex.overlaps(ownerId, start, end)) {
+            return;
+        }
+        // The index may hold a slot another node has since deleted; confirm before rejecting
+        if (slotRepository.existsOverlapping(ownerId, start, end)) {
+            throw new IllegalStateException("Slot overlaps an existing slot");
+        }
+        overlapIndex.invalidate(ownerId);
     }
 
-    public List<AvailabilitySlot> listByOwner(UUID ownerId) {
-        return slotRepository.findByOwnerId(ownerId);
+    @Transactional(readOnly = true)
+    public CursorPage<AvailabilitySlotResponse> listPage(KeysetCursor after, int limit) {
+        List<SlotRow> page = after == null
+                ? slotRepository.findPage(Limit.of(limit))
+                : slotRepository.findPageAfter(after.key(), after.id(), Limit.of(limit));
+        return CursorPage.of(page, limit, s -> new KeysetCursor(LISTING, s.createdAt(), s.id()))
+                .map(AvailabilitySlotService::toResponses);
+    }
+
+    // Callers must consume and close the stream inside a transaction
+    public Stream<SlotRow> streamAll() {
+        return slotRepository.streamAll();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AvailabilitySlotResponse> listByOwner(UUID ownerId, KeysetCursor after, int limit) {
+        List<SlotRow> page = after == null
+                ? slotRepository.findRowsByOwnerId(ownerId, Limit.of(limit))
+                : slotRepository.findRowsByOwnerIdAfter(ownerId, after.key(), after.id(), Limit.of(limit));
+        return CursorPage.of(page, limit, s -> new KeysetCursor(OWNER_LISTING, s.startTime(), s.id()))
+                .map(AvailabilitySlotService::toResponses);
+    }
+
+    static List<AvailabilitySlotResponse> toResponses(List<SlotRow> rows) {
+        return rows.stream().map(SlotRow::toResponse).toList();
+    }
+
+    // Slots overlapping [from, to), optionally for one owner and/or without a live reservation,
+    // one page at a time in (startTime, id) order. Range queries over upcoming slots are answered
+    // from the interval cache when it is enabled; onlyFree needs reservation state and always
+    // goes to the database.
+    @Transactional(readOnly = true)
+    public CursorPage<AvailabilitySlotResponse> search(Instant from, Instant to, UUID ownerId, boolean onlyFree,
+                                                       KeysetCursor after, int limit) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (!onlyFree) {
+            var cached = intervalCache.overlapping(from, to, ownerId);
+            if (cached.isPresent()) {
+                List<AvailabilitySlotResponse> page = cached.get().stream()
+                        .filter(slot -> after == null || after.precedes(slot.startTime(), slot.id()))
+                        .sorted(SEARCH_ORDER)
+                        .limit(limit)
+                        .toList();
+                return CursorPage.of(page, limit, AvailabilitySlotService::searchPosition);
+            }
+        }
+        Specification<AvailabilitySlot> spec = Specification.allOf(
+                SlotSpecifications.ownedBy(ownerId),
+                SlotSpecifications.overlapping(from, to),
+                SlotSpecifications.startingAfter(after));
+        if (onlyFree) {
+            spec = spec.and(SlotSpecifications.free());
+        }
+        // project("owner") fetches the owners in the same select
+        List<AvailabilitySlotResponse> page = slotRepository.findBy(spec, q -> q
+                        .sortBy(Sort.by("startTime", "id"))
+                        .limit(limit)
+                        .project("owner")
+                        .all())
+                .stream()
+                .map(AvailabilitySlotResponse::from)
+                .toList();
+        return CursorPage.of(page, limit, AvailabilitySlotService::searchPosition);
     }
-}
 
+    private static KeysetCursor searchPosition(AvailabilitySlotResponse slot) {
+        return new KeysetCursor(SEARCH_LISTING, slot.startTime(), slot.id());
+    }
+}
@@ -0,0 +1,97 @@
+package org.reserv.reserveme.reservation;
+
+import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Optional front door for createReservation when many requesters race for the same slot.
+// Bookings for a slot are serialized on a striped in-process lock, and once a slot is taken a
+// short-lived marker rejects later attempts without touching the database. The unique index on
+// live reservations stays the source of truth; markers are node-local and only expire or get
+// released by this node, so a stale marker can at most delay a rebooking by the TTL.
+@Component
+public class BookingCoordinator {
+
+    private static final int MARKER_SWEEP_THRESHOLD = 10_000;
+
+    private final ReservationService reservationService;
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+    private final long takenTtlNanos;
+    private final ConcurrentHashMap<UUID, Long> takenUntil = new ConcurrentHashMap<>();
+
+    public BookingCoordinator(ReservationService reservationService,
+                              @Value("${app.booking.coordinator.enabled:false}") boolean enabled,
+                              @Value("${app.booking.coordinator.stripes:64}") int stripes,
+                              @Value("${app.booking.coordinator.taken-ttl:5s}") Duration takenTtl) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("app.booking.coordinator.stripes must be positive");
+        }
+        this.reservationService = reservationService;
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.takenTtlNanos = takenTtl.toNanos();
+    }
+
+    public Reservation book(CreateReservationRequest request) {
+        UUID slotId = request.getSlotId();
+        if (!enabled || slotId == null) {
+            return reservationService.createReservation(request);
+        }
+
+        rejectIfTaken(slotId);
+        ReentrantLock lock = stripeFor(slotId);
+        lock.lock();
+        try {
+            // Whoever held the lock before us may have just taken the slot
+            rejectIfTaken(slotId);
+            Reservation reservation = reservationService.createReservation(request);
+            markTaken(slotId);
+            return reservation;
+        } catch (SlotAlreadyReservedException ex) {
+            // Taken by another node or an earlier booking; remember it locally. Other conflicts
+            // say nothing about the slot and must not block it for everyone else.
+            markTaken(slotId);
+            throw ex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(UUID slotId) {
+        takenUntil.remove(slotId);
+    }
+
+    private void rejectIfTaken(UUID slotId) {
+        Long until = takenUntil.get(slotId);
+        if (until == null) {
+            return;
+        }
+        if (until - System.nanoTime() > 0) {
+            throw new SlotAlreadyReservedException(slotId);
+        }
+        takenUntil.remove(slotId, until);
+    }
+
+    private void markTaken(UUID slotId) {
+        long now = System.nanoTime();
+        takenUntil.put(slotId, now + takenTtlNanos);
+        if (takenUntil.size() > MARKER_SWEEP_THRESHOLD) {
+            takenUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    private ReentrantLock stripeFor(UUID slotId) {
+        int h = slotId.hashCode();
+        h ^= (h >>> 16);
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+}
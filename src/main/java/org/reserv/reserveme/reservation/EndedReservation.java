@@ -0,0 +1,16 @@
+package org.reserv.reserveme.reservation;
+
+import java.util.UUID;
+
+// What ReservationRepository#endAsRequesterOrSlotOwner hands back about the ended row
+public interface EndedReservation {
+    UUID getId();
+    UUID getSlotId();
+    UUID getRequesterId();
+    Short getStatus();
+    UUID getSlotOwnerId();
+
+    default ReservationStatus status() {
+        return ReservationStatus.fromCode(getStatus());
+    }
+}
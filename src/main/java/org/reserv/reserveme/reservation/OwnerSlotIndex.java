@@ -0,0 +1,119 @@
+package org.reserv.reserveme.reservation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-owner sorted index of slot windows used to reject overlapping slots in O(log n) before
+// the insert. An owner's slots are loaded on first use and kept current from committed
+// SlotEvents. The exclusion constraint on availability_slots stays authoritative: the index only
+// short-circuits the common case, and callers confirm a reported overlap against the database.
+@Component
+public class OwnerSlotIndex {
+
+    private final AvailabilitySlotRepository slotRepository;
+    private final boolean enabled;
+    private final int maxOwners;
+    private final ConcurrentHashMap<UUID, OwnerSlots> owners = new ConcurrentHashMap<>();
+
+    public OwnerSlotIndex(AvailabilitySlotRepository slotRepository,
+                          @Value("${app.slots.overlap-index.enabled:true}") boolean enabled,
+                          @Value("${app.slots.overlap-index.max-owners:10000}") int maxOwners) {
+        this.slotRepository = slotRepository;
+        this.enabled = enabled;
+        this.maxOwners = maxOwners;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean overlaps(UUID ownerId, Instant start, Instant end) {
+        return slotsOf(ownerId).overlaps(start, end);
+    }
+
+    public void invalidate(UUID ownerId) {
+        owners.remove(ownerId);
+    }
+
+    @TransactionalEventListener
+    public void onSlotEvent(SlotEvent event) {
+        if (!event.changesSlot()) {
+            return;
+        }
+        OwnerSlots slots = owners.get(event.ownerId());
+        if (slots == null) {
+            // Not loaded yet; the next check loads it from the database
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> slots.add(event.slotId(), event.slot().startTime(), event.slot().endTime());
+            case DELETED -> slots.remove(event.slotId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSlotBatch(SlotBatchEvent batch) {
+        batch.events().forEach(this::onSlotEvent);
+    }
+
+    private OwnerSlots slotsOf(UUID ownerId) {
+        OwnerSlots slots = owners.get(ownerId);
+        if (slots != null) {
+            return slots;
+        }
+        if (owners.size() >= maxOwners) {
+            Iterator<UUID> it = owners.keySet().iterator();
+            if (it.hasNext()) {
+                owners.remove(it.next());
+            }
+        }
+        // Load outside the map so a slow query doesn't block other owners
+        OwnerSlots loaded = new OwnerSlots();
+        for (SlotInterval s : slotRepository.findIntervalsByOwnerId(ownerId)) {
+            loaded.add(s.id(), s.startTime(), s.endTime());
+        }
+        OwnerSlots existing = owners.putIfAbsent(ownerId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Slot windows of one owner keyed by start time. Windows never overlap (the database
+    // enforces it), so the only candidates are the nearest windows on either side of a start.
+    static final class OwnerSlots {
+        private final TreeMap<Instant, SlotInterval> byStart = new TreeMap<>();
+        private final Map<UUID, Instant> startById = new HashMap<>();
+
+        synchronized boolean overlaps(Instant start, Instant end) {
+            var before = byStart.floorEntry(start);
+            if (before != null && before.getValue().endTime().isAfter(start)) {
+                return true;
+            }
+            var after = byStart.higherEntry(start);
+            return after != null && after.getKey().isBefore(end);
+        }
+
+        synchronized void add(UUID id, Instant start, Instant end) {
+            byStart.put(start, new SlotInterval(id, start, end));
+            startById.put(id, start);
+        }
+
+        synchronized void remove(UUID id) {
+            Instant start = startById.remove(id);
+            if (start != null) {
+                byStart.remove(start);
+            }
+        }
+
+        synchronized int size() {
+            return byStart.size();
+        }
+    }
+}
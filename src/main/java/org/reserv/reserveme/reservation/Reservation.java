@@ -10,7 +10,10 @@ import java.util.UUID;
 @Getter
 @Entity
 @Table(name = "reservations")
+@NamedEntityGraph(name = Reservation.WITH_REQUESTER, attributeNodes = @NamedAttributeNode("requester"))
 public class Reservation {
+    public static final String WITH_REQUESTER = "Reservation.requester";
+
     @Id
     @GeneratedValue
     @Column(nullable = false, updatable = false)
@@ -19,22 +22,26 @@ public class Reservation {
     @Column(name = "slot_id", nullable = false)
     private UUID slotId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_user_id", nullable = false)
     private User requester;
 
     @Column(name = "status", nullable = false)
-    private String status;
+    private ReservationStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     protected Reservation() {}
 
-    public Reservation(UUID slotId, User requester, String status) {
+    public Reservation(UUID slotId, User requester) {
         this.slotId = slotId;
         this.requester = requester;
-        this.status = status;
+        this.status = ReservationStatus.ACTIVE;
         this.createdAt = Instant.now();
     }
 
@@ -42,7 +49,7 @@ public class Reservation {
     public UUID getId() { return id; }
     public UUID getSlotId() { return slotId; }
     public User getRequester() { return requester; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public ReservationStatus getStatus() { return status; }
     public Instant getCreatedAt() { return createdAt; }
+    public long getVersion() { return version; }
 }
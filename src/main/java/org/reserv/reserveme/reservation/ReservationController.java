@@ -1,23 +1,21 @@
 package org.reserv.reserveme.reservation;
 
-import java.nio.file.AccessDeniedException;
+import org.reserv.reserveme.auth.AuthenticatedUser;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.common.NdjsonExporter;
 import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
 import org.reserv.reserveme.reservation.dto.ReservationResponse;
-import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
-import org.reserv.reserveme.reservation.AvailabilitySlot;
-import org.reserv.reserveme.reservation.AvailabilitySlotRepository;
-import org.reserv.reserveme.reservation.ReservationRepository;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -26,35 +24,26 @@ public class ReservationController {
     private static final Logger log = LoggerFactory.getLogger(ReservationController.class);
 
     private final ReservationService reservationService;
-    private final AvailabilitySlotRepository slotRepository;
+    private final ReservationResponseAssembler responseAssembler;
+    private final BookingCoordinator bookingCoordinator;
+    private final NdjsonExporter exporter;
 
-    public ReservationController(ReservationService reservationService, AvailabilitySlotRepository slotRepository) {
+    public ReservationController(ReservationService reservationService, ReservationResponseAssembler responseAssembler,
+                                 BookingCoordinator bookingCoordinator, NdjsonExporter exporter) {
         this.reservationService = reservationService;
-        this.slotRepository = slotRepository;
-    }
-
-    private UUID getAuthenticatedUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getPrincipal() == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
-        }
-        try {
-            return UUID.fromString(auth.getPrincipal().toString());
-        } catch (Exception ex) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token subject");
-        }
+        this.responseAssembler = responseAssembler;
+        this.bookingCoordinator = bookingCoordinator;
+        this.exporter = exporter;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReservationResponse create(@RequestBody CreateReservationRequest request) {
-        UUID requesterId = getAuthenticatedUserId();
+    public ReservationResponse create(@RequestBody CreateReservationRequest request, AuthenticatedUser caller) {
+        UUID requesterId = caller.id();
         request.setRequesterId(requesterId);
         try {
-            log.info("Creating reservation for requester={} slotId={}", requesterId, request.getSlotId());
-            Reservation r = reservationService.createReservation(request);
-            AvailabilitySlot slot = slotRepository.findById(r.getSlotId()).orElse(null);
-            return ReservationResponse.from(r, slot);
+            Reservation r = bookingCoordinator.book(request);
+            return responseAssembler.toResponse(r);
         } catch (IllegalArgumentException ex) {
             log.warn("Failed to create reservation: {}", ex.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -63,11 +52,11 @@ public class ReservationController {
 
     @DeleteMapping("/{reservationId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable UUID reservationId) throws AccessDeniedException {
-        UUID callerId = getAuthenticatedUserId();
+    public void delete(@PathVariable UUID reservationId, AuthenticatedUser caller) {
+        UUID callerId = caller.id();
         try {
-            log.info("Delete reservation request={} caller={}", reservationId, callerId);
-            reservationService.deleteReservation(reservationId, callerId);
+            EndedReservation deleted = reservationService.deleteReservation(reservationId, callerId);
+            bookingCoordinator.release(deleted.getSlotId());
         } catch (IllegalArgumentException ex) {
             log.warn("Delete failed: {}", ex.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -78,13 +67,11 @@ public class ReservationController {
     }
 
     @PutMapping("/{reservationId}/confirm")
-    public ReservationResponse confirm(@PathVariable UUID reservationId) throws AccessDeniedException {
-        UUID ownerId = getAuthenticatedUserId();
+    public ReservationResponse confirm(@PathVariable UUID reservationId, AuthenticatedUser caller) {
+        UUID ownerId = caller.id();
         try {
-            log.info("Confirm reservation request={} owner={}", reservationId, ownerId);
             Reservation r = reservationService.confirmReservation(reservationId, ownerId);
-            AvailabilitySlot slot = slotRepository.findById(r.getSlotId()).orElse(null);
-            return ReservationResponse.from(r, slot);
+            return responseAssembler.toResponse(r);
         } catch (IllegalArgumentException ex) {
             log.warn("Confirm failed: {}", ex.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -95,32 +82,38 @@ public class ReservationController {
     }
 
     @GetMapping
-    public List<ReservationResponse> list(@RequestParam(required = false) UUID userId) {
-        List<Reservation> reservations;
-        if (userId != null) {
-            reservations = reservationService.listReservationsForUser(userId);
-        } else {
-            reservations = reservationService.listReservations();
+    public ResponseEntity<List<ReservationResponse>> list(@RequestParam(required = false) UUID userId,
+                                                          @RequestParam(defaultValue = "BOTH") ReservationDirection direction,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        if (userId == null) {
+            return reservationService.listReservations(KeysetCursor.decode(cursor, ReservationService.LISTING), pageSize)
+                    .toResponse();
         }
-        return reservations.stream().map(r -> {
-            AvailabilitySlot slot = slotRepository.findById(r.getSlotId()).orElse(null);
-            return ReservationResponse.from(r, slot);
-        }).collect(Collectors.toList());
+        return reservationService.listReservationsForUser(userId, direction,
+                KeysetCursor.decode(cursor, ReservationService.USER_LISTING), pageSize).toResponse();
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonExporter.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return exporter.export(reservationService::streamReservations, ReservationService::toResponses);
     }
 
+    // Same listing as ?userId=...&direction=BOTH, paged the same way
     @GetMapping("/byRequester")
-    public List<ReservationResponse> listByRequester(@RequestParam UUID requesterId) {
-        return reservationService.listReservationsForUser(requesterId).stream().map(r -> {
-            AvailabilitySlot slot = slotRepository.findById(r.getSlotId()).orElse(null);
-            return ReservationResponse.from(r, slot);
-        }).collect(Collectors.toList());
+    public ResponseEntity<List<ReservationResponse>> listByRequester(@RequestParam UUID requesterId,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     @RequestParam(required = false) String cursor) {
+        return reservationService.listReservationsForUser(requesterId, ReservationDirection.BOTH,
+                KeysetCursor.decode(cursor, ReservationService.USER_LISTING), KeysetCursor.clampLimit(limit)).toResponse();
     }
 
     @GetMapping("/bySlot")
-    public List<ReservationResponse> listBySlot(@RequestParam UUID slotId) {
-        return reservationService.findBySlotId(slotId).stream().map(r -> {
-            AvailabilitySlot slot = slotRepository.findById(r.getSlotId()).orElse(null);
-            return ReservationResponse.from(r, slot);
-        }).collect(Collectors.toList());
+    public ResponseEntity<List<ReservationResponse>> listBySlot(@RequestParam UUID slotId,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String cursor) {
+        return reservationService.listBySlot(slotId, KeysetCursor.decode(cursor, ReservationService.SLOT_LISTING),
+                KeysetCursor.clampLimit(limit)).toResponse();
     }
 }
@@ -0,0 +1,9 @@
+package org.reserv.reserveme.reservation;
+
+// Which side of a reservation the user is on: INCOMING for reservations on slots they own,
+// OUTGOING for reservations they requested.
+public enum ReservationDirection {
+    INCOMING,
+    OUTGOING,
+    BOTH
+}
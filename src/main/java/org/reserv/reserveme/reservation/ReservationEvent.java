@@ -0,0 +1,29 @@
+package org.reserv.reserveme.reservation;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+// Outbox payload for reservation lifecycle changes. Events are keyed by slot, so listeners
+// see a slot's reservations come and go in the order they happened.
+public record ReservationEvent(Type type, UUID reservationId, UUID slotId, UUID requesterId,
+                               ReservationStatus status, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        CONFIRMED,
+        // deleted by the requester
+        CANCELLED,
+        // deleted by the slot owner
+        REJECTED;
+
+        // Outbox event_type, e.g. "reservation.created"
+        public String eventType() {
+            return "reservation." + name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    static ReservationEvent of(Type type, Reservation r) {
+        return new ReservationEvent(type, r.getId(), r.getSlotId(), r.getRequester().getId(), r.getStatus(), Instant.now());
+    }
+}
@@ -1,14 +1,189 @@
 package org.reserv.reserveme.reservation;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
-    List<Reservation> findByRequesterId(UUID requesterId);
+    // Read endpoints project the reservation, requester, slot and slot owner into one flat
+    // ReservationRow: a single statement and no managed entities to snapshot
+    String ROW = """
+            select new org.reserv.reserveme.reservation.ReservationRow(
+                r.id, r.status, r.createdAt,
+                u.id, u.email, u.displayName, u.createdAt,
+                s.id, s.startTime, s.endTime, s.createdAt,
+                o.id, o.email, o.displayName, o.createdAt)
+            from Reservation r join r.requester u
+                join AvailabilitySlot s on s.id = r.slotId join s.owner o
+            """;
+
+    @EntityGraph(Reservation.WITH_REQUESTER)
     List<Reservation> findBySlotId(UUID slotId);
-    List<Reservation> findByStatus(String status);
+
+    // One slot's reservations, live and ended, in (createdAt, id) order; the *After variant
+    // continues past a cursor
+    @Query(ROW + "where r.slotId = :slotId order by r.createdAt, r.id")
+    List<ReservationRow> findRowsBySlotId(@Param("slotId") UUID slotId, Limit limit);
+
+    @Query(ROW + """
+            where r.slotId = :slotId
+              and (r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :id))
+            order by r.createdAt, r.id
+            """)
+    List<ReservationRow> findRowsBySlotIdAfter(@Param("slotId") UUID slotId, @Param("createdAt") Instant createdAt,
+                                               @Param("id") UUID id, Limit limit);
+
+    List<Reservation> findByStatus(ReservationStatus status);
+
+    // Single-statement transitions: the status precondition and the caller's right to make
+    // the change are part of the WHERE clause, so of two racing requests exactly one matches.
+    // Nothing returned means nothing matched; the caller works out why.
+    @Transactional
+    @Query(value = """
+            UPDATE reservations SET status = :next, version = version + 1
+             WHERE id = :id AND status IN (:from)
+               AND slot_id IN (SELECT id FROM availability_slots WHERE owner_user_id = :ownerId)
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Reservation> transitionAsSlotOwner(@Param("id") UUID id,
+                                                @Param("ownerId") UUID ownerId,
+                                                @Param("from") Collection<Short> from,
+                                                @Param("next") short next);
+
+    // Ends a reservation if the caller requested it (CANCELLED) or owns its slot (REJECTED).
+    // The row is kept for both parties' history; leaving the live statuses frees the slot.
+    @Transactional
+    @Query(value = """
+            UPDATE reservations r
+               SET status = CASE WHEN r.requester_user_id = :callerId THEN :cancelled ELSE :rejected END,
+                   version = r.version + 1
+             WHERE r.id = :id AND r.status IN (:from)
+               AND (r.requester_user_id = :callerId
+                    OR r.slot_id IN (SELECT s.id FROM availability_slots s WHERE s.owner_user_id = :callerId))
+            RETURNING r.id AS "id", r.slot_id AS "slotId", r.requester_user_id AS "requesterId", r.status AS "status",
+                      (SELECT s.owner_user_id FROM availability_slots s WHERE s.id = r.slot_id) AS "slotOwnerId"
+            """, nativeQuery = true)
+    Optional<EndedReservation> endAsRequesterOrSlotOwner(@Param("id") UUID id,
+                                                         @Param("callerId") UUID callerId,
+                                                         @Param("from") Collection<Short> from,
+                                                         @Param("cancelled") short cancelled,
+                                                         @Param("rejected") short rejected);
+
+    // Rejects the live reservation on a slot that its owner is deleting; the slot delete then
+    // cascades to the rows. The unique index allows at most one, but callers get a list.
+    @Transactional
+    @Query(value = """
+            UPDATE reservations r SET status = :rejected, version = r.version + 1
+             WHERE r.slot_id = :slotId AND r.status IN (:from)
+            RETURNING r.id AS "id", r.slot_id AS "slotId", r.requester_user_id AS "requesterId", r.status AS "status",
+                      (SELECT s.owner_user_id FROM availability_slots s WHERE s.id = r.slot_id) AS "slotOwnerId"
+            """, nativeQuery = true)
+    List<EndedReservation> rejectLiveOnSlot(@Param("slotId") UUID slotId,
+                                            @Param("from") Collection<Short> from,
+                                            @Param("rejected") short rejected);
+
+    // A user's reservations newest first, one query per ReservationDirection. Each side is a
+    // plain predicate the planner can drive from an index: outgoing walks
+    // idx_reservations_requester_created in order and stops at the limit, incoming starts from
+    // the owner's slots and looks their reservations up through idx_reservations_slot_status.
+    // The *Before variants continue after a (createdAt, id) keyset cursor.
+    @Query(ROW + """
+            where u.id = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ReservationRow> findOutgoing(@Param("userId") UUID userId, Limit limit);
+
+    @Query(ROW + """
+            where u.id = :userId and (r.createdAt, r.id) < (:createdAt, :id)
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ReservationRow> findOutgoingBefore(@Param("userId") UUID userId,
+                                            @Param("createdAt") Instant createdAt,
+                                            @Param("id") UUID id,
+                                            Limit limit);
+
+    @Query(ROW + """
+            where o.id = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ReservationRow> findIncoming(@Param("userId") UUID userId, Limit limit);
+
+    @Query(ROW + """
+            where o.id = :userId and (r.createdAt, r.id) < (:createdAt, :id)
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ReservationRow> findIncomingBefore(@Param("userId") UUID userId,
+                                            @Param("createdAt") Instant createdAt,
+                                            @Param("id") UUID id,
+                                            Limit limit);
+
+    // Both directions: each side takes its own newest :limit rows, UNION ALL merges them and the
+    // outer query keeps the newest :limit overall. Reservations on the user's own slots that the
+    // user requested come from the outgoing side only, so nothing is listed twice.
+    @Query("""
+            with mine as (
+                (select r.id id from Reservation r
+                  where r.requester.id = :userId
+                  order by r.createdAt desc, r.id desc limit :limit)
+                union all
+                (select r.id id from Reservation r join AvailabilitySlot s on s.id = r.slotId
+                  where s.owner.id = :userId and r.requester.id <> :userId
+                  order by r.createdAt desc, r.id desc limit :limit)
+            )
+            """ + ROW + """
+            where r.id in (select m.id from mine m)
+            order by r.createdAt desc, r.id desc
+            limit :limit
+            """)
+    List<ReservationRow> findForUser(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query("""
+            with mine as (
+                (select r.id id from Reservation r
+                  where r.requester.id = :userId and (r.createdAt, r.id) < (:createdAt, :id)
+                  order by r.createdAt desc, r.id desc limit :limit)
+                union all
+                (select r.id id from Reservation r join AvailabilitySlot s on s.id = r.slotId
+                  where s.owner.id = :userId and r.requester.id <> :userId
+                    and (r.createdAt, r.id) < (:createdAt, :id)
+                  order by r.createdAt desc, r.id desc limit :limit)
+            )
+            """ + ROW + """
+            where r.id in (select m.id from mine m)
+            order by r.createdAt desc, r.id desc
+            limit :limit
+            """)
+    List<ReservationRow> findForUserBefore(@Param("userId") UUID userId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id,
+                                           @Param("limit") int limit);
+
+    // Keyset pages over all reservations in (createdAt, id) order
+    @Query(ROW + "order by r.createdAt, r.id")
+    List<ReservationRow> findPage(Limit limit);
+
+    @Query(ROW + """
+            where r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :id)
+            order by r.createdAt, r.id
+            """)
+    List<ReservationRow> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ROW + "order by r.createdAt, r.id")
+    Stream<ReservationRow> streamAll();
 }
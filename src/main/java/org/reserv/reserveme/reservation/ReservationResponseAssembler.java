@@ -0,0 +1,61 @@
+package org.reserv.reserveme.reservation;
+
+import org.hibernate.Hibernate;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
+import org.reserv.reserveme.user.dto.UserResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Builds ReservationResponses for reservations the write paths hand back, loading every
+// referenced slot (and its owner) with one query. Listings project ReservationRow instead.
+@Component
+@Transactional(readOnly = true)
+public class ReservationResponseAssembler {
+
+    private final AvailabilitySlotRepository slotRepository;
+    private final UserCache userCache;
+
+    public ReservationResponseAssembler(AvailabilitySlotRepository slotRepository, UserCache userCache) {
+        this.slotRepository = slotRepository;
+        this.userCache = userCache;
+    }
+
+    public ReservationResponse toResponse(Reservation reservation) {
+        return toResponses(List.of(reservation)).get(0);
+    }
+
+    public List<ReservationResponse> toResponses(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> slotIds = new HashSet<>();
+        for (var r : reservations) slotIds.add(r.getSlotId());
+
+        Map<UUID, AvailabilitySlot> slots = slotRepository.findAllWithOwnerByIdIn(slotIds).stream()
+                .collect(Collectors.toMap(AvailabilitySlot::getId, Function.identity()));
+
+        return reservations.stream()
+                .map(r -> ReservationResponse.from(r, slots.get(r.getSlotId()), requester(r)))
+                .collect(Collectors.toList());
+    }
+
+    // A freshly created reservation only holds a requester reference, which is rendered
+    // from the user cache instead of being loaded
+    private UserResponse requester(Reservation r) {
+        User requester = r.getRequester();
+        if (Hibernate.isInitialized(requester)) {
+            return UserResponse.from(requester);
+        }
+        return userCache.findById(requester.getId()).map(UserResponse::from).orElse(null);
+    }
+}
@@ -0,0 +1,24 @@
+package org.reserv.reserveme.reservation;
+
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.dto.UserResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// A reservation with its requester, slot and slot owner flattened into one row. JPQL
+// constructor expressions can't nest, so the response tree is built in toResponse().
+public record ReservationRow(UUID id, ReservationStatus status, Instant createdAt,
+                             UUID requesterId, String requesterEmail, String requesterDisplayName, Instant requesterCreatedAt,
+                             UUID slotId, Instant slotStartTime, Instant slotEndTime, Instant slotCreatedAt,
+                             UUID ownerId, String ownerEmail, String ownerDisplayName, Instant ownerCreatedAt) {
+
+    public ReservationResponse toResponse() {
+        var slot = new SlotRow(slotId, slotStartTime, slotEndTime, slotCreatedAt,
+                ownerId, ownerEmail, ownerDisplayName, ownerCreatedAt);
+        return new ReservationResponse(id, slot.toResponse(),
+                new UserResponse(requesterId, requesterEmail, requesterDisplayName, requesterCreatedAt),
+                status, createdAt);
+    }
+}
@@ -1,30 +1,58 @@
 package org.reserv.reserveme.reservation;
 
-import java.nio.file.AccessDeniedException;
+import io.micrometer.core.annotation.Timed;
+import org.reserv.reserveme.common.Constraints;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.config.MetricsConfig;
+import org.reserv.reserveme.outbox.Outbox;
 import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
 import org.reserv.reserveme.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.LinkedHashMap;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class ReservationService {
 
+    static final String ACTIVE_SLOT_CONSTRAINT = "ux_reservations_slot_active";
+
+    // Keyset listings by (created_at, id): all reservations and one slot's oldest first, a
+    // user's newest first
+    public static final String LISTING = "reservations";
+    public static final String USER_LISTING = "reservations.user";
+    public static final String SLOT_LISTING = "reservations.slot";
+
     private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
     private final AvailabilitySlotRepository slotRepository;
+    private final UserCache userCache;
+    private final Outbox outbox;
+    private final ApplicationEventPublisher events;
 
-    public ReservationService(ReservationRepository reservationRepository, UserRepository userRepository, AvailabilitySlotRepository slotRepository) {
+    public ReservationService(ReservationRepository reservationRepository, UserRepository userRepository,
+                              AvailabilitySlotRepository slotRepository, UserCache userCache, Outbox outbox,
+                              ApplicationEventPublisher events) {
         this.reservationRepository = reservationRepository;
         this.userRepository = userRepository;
         this.slotRepository = slotRepository;
+        this.userCache = userCache;
+        this.outbox = outbox;
+        this.events = events;
     }
 
     public Reservation createReservation(CreateReservationRequest request) {
@@ -35,79 +63,144 @@ public class ReservationService {
             throw new IllegalArgumentException("requesterId and slotId are required");
         }
 
-        var user = userRepository.findById(requesterId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        var slot = slotRepository.findById(slotId).orElseThrow(() -> new IllegalArgumentException("Slot not found"));
-
-        // If there is already an ACTIVE reservation for this slot, reject
-        List<Reservation> existing = reservationRepository.findBySlotId(slotId);
-        boolean activeExists = existing.stream().anyMatch(r -> "ACTIVE".equalsIgnoreCase(r.getStatus()));
-        if (activeExists) {
-            throw new IllegalStateException("Slot is already reserved");
+        if (!userCache.exists(requesterId)) {
+            throw new IllegalArgumentException("User not found");
         }
-
-        Reservation reservation = new Reservation(slotId, user, "ACTIVE");
-        return reservationRepository.save(reservation);
-    }
-    public void deleteReservation(UUID reservationId, UUID requesterId)
-            throws AccessDeniedException {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
-        // Allow deletion by the requester (cancel) OR by the slot owner (reject)
-        UUID callerId = requesterId;
-        boolean isRequestingUser = reservation.getRequester().getId().equals(callerId);
-        boolean isSlotOwner = false;
-        var slotOpt = slotRepository.findById(reservation.getSlotId());
-        if (slotOpt.isPresent()) {
-            isSlotOwner = slotOpt.get().getOwner().getId().equals(callerId);
+        // Only the foreign key is needed; the response renders the requester from the cache
+        User user = userRepository.getReferenceById(requesterId);
+
+        // The owner id doubles as the existence check and keys the SlotEvent
+        UUID ownerId = slotRepository.findOwnerIdById(slotId)
+                .orElseThrow(() -> new IllegalArgumentException("Slot not found"));
+
+        // The partial unique index on (slot_id) for live reservations decides the race:
+        // the losing insert fails with a constraint violation that maps to 409.
+        Reservation reservation = new Reservation(slotId, user);
+        try {
+            reservation = reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException ex) {
+            if (Constraints.violates(ex, ACTIVE_SLOT_CONSTRAINT)) {
+                throw new SlotAlreadyReservedException(slotId);
+            }
+            throw ex;
         }
+        record(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
+        events.publishEvent(SlotEvent.reserved(slotId, ownerId));
+        return reservation;
+    }
 
-        if (!isRequestingUser && !isSlotOwner) {
-            throw new AccessDeniedException("Not authorized to delete this reservation");
+    // Cancel (by the requester) or reject (by the slot owner) in one conditional UPDATE; see
+    // explainNoMatch for how a miss is reported
+    public EndedReservation deleteReservation(UUID reservationId, UUID callerId) {
+        Optional<EndedReservation> ended = reservationRepository.endAsRequesterOrSlotOwner(reservationId, callerId,
+                ReservationStatus.codes(ReservationStatus.sourcesOf(ReservationStatus.CANCELLED)),
+                ReservationStatus.CANCELLED.code(), ReservationStatus.REJECTED.code());
+        if (ended.isEmpty()) {
+            throw explainNoMatch(reservationId, callerId, true, "delete");
         }
+        EndedReservation r = ended.get();
+        ReservationStatus status = r.status();
+        ReservationEvent.Type type = status == ReservationStatus.CANCELLED
+                ? ReservationEvent.Type.CANCELLED : ReservationEvent.Type.REJECTED;
+        record(new ReservationEvent(type, r.getId(), r.getSlotId(), r.getRequesterId(), status, Instant.now()));
+        events.publishEvent(SlotEvent.released(r.getSlotId(), r.getSlotOwnerId()));
+        return r;
+    }
 
-        reservationRepository.delete(reservation);
+    // Part of deleting a slot: its live reservation is rejected, recorded and announced like
+    // any other rejection before the slot delete removes the rows
+    public void rejectLiveReservationsOnSlot(UUID slotId) {
+        List<EndedReservation> rejected = reservationRepository.rejectLiveOnSlot(slotId,
+                ReservationStatus.codes(ReservationStatus.sourcesOf(ReservationStatus.REJECTED)),
+                ReservationStatus.REJECTED.code());
+        for (EndedReservation r : rejected) {
+            record(new ReservationEvent(ReservationEvent.Type.REJECTED, r.getId(), r.getSlotId(), r.getRequesterId(),
+                    ReservationStatus.REJECTED, Instant.now()));
+            events.publishEvent(SlotEvent.released(r.getSlotId(), r.getSlotOwnerId()));
+        }
     }
 
-    public Reservation confirmReservation(UUID reservationId, UUID ownerId) throws AccessDeniedException {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+    public Reservation confirmReservation(UUID reservationId, UUID ownerId) {
+        Optional<Reservation> confirmed = reservationRepository.transitionAsSlotOwner(reservationId, ownerId,
+                ReservationStatus.codes(ReservationStatus.sourcesOf(ReservationStatus.CONFIRMED)),
+                ReservationStatus.CONFIRMED.code());
+        if (confirmed.isEmpty()) {
+            throw explainNoMatch(reservationId, ownerId, false, "confirm");
+        }
+        Reservation reservation = confirmed.get();
+        record(ReservationEvent.of(ReservationEvent.Type.CONFIRMED, reservation));
+        events.publishEvent(SlotEvent.confirmed(reservation.getSlotId(), ownerId));
+        return reservation;
+    }
 
-        // ensure caller is the owner of the slot
-        var slot = slotRepository.findById(reservation.getSlotId()).orElseThrow(() -> new IllegalArgumentException("Slot not found"));
-        if (!slot.getOwner().getId().equals(ownerId)) {
-            throw new AccessDeniedException("Not authorized to confirm this reservation");
+    // Only reached when a conditional statement matched nothing, so the happy path stays one
+    // statement. Returns the exception to throw: 400 when the reservation is gone, 403 when the
+    // caller may not act on it, 409 when its status doesn't allow the change.
+    private RuntimeException explainNoMatch(UUID reservationId, UUID callerId, boolean requesterMayAct, String action) {
+        Optional<Reservation> found = reservationRepository.findById(reservationId);
+        if (found.isEmpty()) {
+            return new IllegalArgumentException("Reservation not found");
+        }
+        Reservation reservation = found.get();
+        boolean allowed = slotRepository.findOwnerIdById(reservation.getSlotId()).map(callerId::equals).orElse(false)
+                || (requesterMayAct && reservation.getRequester().getId().equals(callerId));
+        if (!allowed) {
+            return new AccessDeniedException("Not authorized to " + action + " this reservation");
         }
+        return new IllegalStateException("Cannot " + action + " a " + reservation.getStatus() + " reservation");
+    }
 
-        reservation.setStatus("CONFIRMED");
-        return reservationRepository.save(reservation);
+    // Written in this transaction; OutboxRelay delivers it once the change has committed
+    private void record(ReservationEvent event) {
+        outbox.append(event.slotId(), event.type().eventType(), event);
     }
 
-    public List<Reservation> listReservations() {
-        return reservationRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> listReservations(KeysetCursor after, int limit) {
+        List<ReservationRow> page = after == null
+                ? reservationRepository.findPage(Limit.of(limit))
+                : reservationRepository.findPageAfter(after.key(), after.id(), Limit.of(limit));
+        return toResponsePage(LISTING, page, limit);
     }
 
-    public List<Reservation> listReservationsForUser(UUID requesterId) {
-        // Return reservations either requested by the user (outgoing)
-        // or reservations for slots owned by the user (incoming).
-        List<Reservation> byRequester = reservationRepository.findByRequesterId(requesterId);
+    // Callers must consume and close the stream inside a transaction
+    public Stream<ReservationRow> streamReservations() {
+        return reservationRepository.streamAll();
+    }
 
-        // find slot ids owned by user
-        List<org.reserv.reserveme.reservation.AvailabilitySlot> slots = slotRepository.findByOwnerId(requesterId);
-        List<Reservation> bySlots = new ArrayList<>();
-        for (var s : slots) {
-            bySlots.addAll(reservationRepository.findBySlotId(s.getId()));
-        }
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> listReservationsForUser(UUID userId, ReservationDirection direction,
+                                                                   KeysetCursor after, int limit) {
+        // Outgoing (requested by the user) and incoming (on slots the user owns) reservations;
+        // each direction has its own query so the database never evaluates an OR across both
+        List<ReservationRow> page = switch (direction) {
+            case OUTGOING -> after == null
+                    ? reservationRepository.findOutgoing(userId, Limit.of(limit))
+                    : reservationRepository.findOutgoingBefore(userId, after.key(), after.id(), Limit.of(limit));
+            case INCOMING -> after == null
+                    ? reservationRepository.findIncoming(userId, Limit.of(limit))
+                    : reservationRepository.findIncomingBefore(userId, after.key(), after.id(), Limit.of(limit));
+            case BOTH -> after == null
+                    ? reservationRepository.findForUser(userId, limit)
+                    : reservationRepository.findForUserBefore(userId, after.key(), after.id(), limit);
+        };
+        return toResponsePage(USER_LISTING, page, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> listBySlot(UUID slotId, KeysetCursor after, int limit) {
+        List<ReservationRow> page = after == null
+                ? reservationRepository.findRowsBySlotId(slotId, Limit.of(limit))
+                : reservationRepository.findRowsBySlotIdAfter(slotId, after.key(), after.id(), Limit.of(limit));
+        return toResponsePage(SLOT_LISTING, page, limit);
+    }
 
-        // merge and dedupe preserving order (requester first)
-        Map<UUID, Reservation> map = new LinkedHashMap<>();
-        for (var r : byRequester) map.put(r.getId(), r);
-        for (var r : bySlots) map.putIfAbsent(r.getId(), r);
-        return new ArrayList<>(map.values());
+    private static CursorPage<ReservationResponse> toResponsePage(String listing, List<ReservationRow> rows, int limit) {
+        return CursorPage.of(rows, limit, r -> new KeysetCursor(listing, r.createdAt(), r.id()))
+                .map(ReservationService::toResponses);
     }
 
-    public List<Reservation> findBySlotId(UUID slotId) {
-        return reservationRepository.findBySlotId(slotId);
+    static List<ReservationResponse> toResponses(List<ReservationRow> rows) {
+        return rows.stream().map(ReservationRow::toResponse).toList();
     }
 }
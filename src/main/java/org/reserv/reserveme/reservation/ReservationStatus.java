@@ -0,0 +1,63 @@
+package org.reserv.reserveme.reservation;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Lifecycle of a reservation. ACTIVE is a request waiting for the slot owner; CONFIRMED once
+// the owner accepts; CANCELLED (by the requester) and REJECTED (by the owner) are final, and
+// the row stays in them as history without holding its slot.
+// Persisted as the smallint code, so codes must never change or be reused.
+public enum ReservationStatus {
+    ACTIVE(0),
+    CONFIRMED(1),
+    CANCELLED(2),
+    REJECTED(3);
+
+    // Reservations that hold their slot; must match the ux_reservations_slot_active predicate
+    public static final Set<ReservationStatus> LIVE = EnumSet.of(ACTIVE, CONFIRMED);
+
+    private final short code;
+
+    ReservationStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static ReservationStatus fromCode(short code) {
+        for (ReservationStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown reservation status code " + code);
+    }
+
+    public boolean canTransitionTo(ReservationStatus next) {
+        return switch (this) {
+            case ACTIVE -> next == CONFIRMED || next == CANCELLED || next == REJECTED;
+            case CONFIRMED -> next == CANCELLED || next == REJECTED;
+            case CANCELLED, REJECTED -> false;
+        };
+    }
+
+    // Statuses a reservation may be in to move to next; conditional updates bind these codes
+    // so the state machine above stays the single definition
+    public static Set<ReservationStatus> sourcesOf(ReservationStatus next) {
+        Set<ReservationStatus> sources = EnumSet.noneOf(ReservationStatus.class);
+        for (ReservationStatus status : values()) {
+            if (status.canTransitionTo(next)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
+    public static List<Short> codes(Collection<ReservationStatus> statuses) {
+        return statuses.stream().map(ReservationStatus::code).toList();
+    }
+}
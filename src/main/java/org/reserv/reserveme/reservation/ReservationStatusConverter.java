@@ -0,0 +1,19 @@
+package org.reserv.reserveme.reservation;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores ReservationStatus by its explicit code rather than its ordinal
+@Converter(autoApply = true)
+public class ReservationStatusConverter implements AttributeConverter<ReservationStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(ReservationStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public ReservationStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : ReservationStatus.fromCode(code);
+    }
+}
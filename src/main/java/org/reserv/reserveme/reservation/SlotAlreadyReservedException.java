@@ -0,0 +1,19 @@
+package org.reserv.reserveme.reservation;
+
+import java.util.UUID;
+
+// The slot already has a live reservation. Still an IllegalStateException, so it maps to 409
+// like every other conflict; BookingCoordinator keys its "slot taken" marker on this type alone.
+public class SlotAlreadyReservedException extends IllegalStateException {
+
+    private final UUID slotId;
+
+    public SlotAlreadyReservedException(UUID slotId) {
+        super("Slot is already reserved");
+        this.slotId = slotId;
+    }
+
+    public UUID getSlotId() {
+        return slotId;
+    }
+}
@@ -0,0 +1,6 @@
+package org.reserv.reserveme.reservation;
+
+import java.util.List;
+
+// Several SlotEvents from one transaction, so listeners with derived state can apply them at once
+public record SlotBatchEvent(List<SlotEvent> events) {}
@@ -0,0 +1,51 @@
+package org.reserv.reserveme.reservation;
+
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+
+import java.util.Locale;
+import java.util.UUID;
+
+// Published by the slot and reservation services whenever a slot's availability changes.
+// Listeners that keep derived state should use @TransactionalEventListener so they only
+// see committed changes. slot is only set for CREATED.
+public record SlotEvent(Type type, UUID slotId, UUID ownerId, AvailabilitySlotResponse slot) {
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        // a live reservation was made, confirmed, or cancelled/rejected (slot is free again)
+        RESERVED,
+        CONFIRMED,
+        RELEASED;
+
+        // SSE event name, e.g. "reserved"
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static SlotEvent created(AvailabilitySlotResponse slot) {
+        return new SlotEvent(Type.CREATED, slot.id(), slot.owner().id(), slot);
+    }
+
+    public static SlotEvent deleted(UUID slotId, UUID ownerId) {
+        return new SlotEvent(Type.DELETED, slotId, ownerId, null);
+    }
+
+    public static SlotEvent reserved(UUID slotId, UUID ownerId) {
+        return new SlotEvent(Type.RESERVED, slotId, ownerId, null);
+    }
+
+    public static SlotEvent confirmed(UUID slotId, UUID ownerId) {
+        return new SlotEvent(Type.CONFIRMED, slotId, ownerId, null);
+    }
+
+    public static SlotEvent released(UUID slotId, UUID ownerId) {
+        return new SlotEvent(Type.RELEASED, slotId, ownerId, null);
+    }
+
+    // CREATED and DELETED change the slot itself; the rest only its reservation state
+    public boolean changesSlot() {
+        return type == Type.CREATED || type == Type.DELETED;
+    }
+}
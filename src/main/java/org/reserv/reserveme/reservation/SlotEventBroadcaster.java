@@ -0,0 +1,209 @@
+package org.reserv.reserveme.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed SlotEvents out to the SSE subscribers of GET /api/slots/stream.
+// Publishing never blocks: every subscriber has a small bounded queue that is drained on a
+// virtual thread only while it has frames to send, so an idle subscriber costs a queue and
+// an emitter but no thread. A subscriber whose queue overflows can't keep up and is
+// disconnected; EventSource clients reconnect and refetch what they display.
+@Component
+public class SlotEventBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Places taken against max-subscribers; claimed before a subscriber is added and given
+    // back when it is removed, so concurrent subscribes can't overshoot the limit
+    private final AtomicInteger places = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final Counter dropped;
+
+    public SlotEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${app.slots.stream.buffer-size:64}") int bufferSize,
+                                @Value("${app.slots.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${app.slots.stream.timeout:30m}") Duration timeout,
+                                MeterRegistry meterRegistry) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("app.slots.stream.buffer-size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.dropped = Counter.builder("slots.stream.dropped")
+                .description("SSE subscribers disconnected because their buffer overflowed")
+                .register(meterRegistry);
+        Gauge.builder("slots.stream.subscribers", subscribers, Set::size)
+                .description("Open GET /api/slots/stream connections")
+                .register(meterRegistry);
+    }
+
+    // Empty when the node is at app.slots.stream.max-subscribers. ownerId == null follows all slots.
+    public Optional<SseEmitter> subscribe(UUID ownerId) {
+        return subscribe(ownerId, new SseEmitter(timeoutMillis));
+    }
+
+    Optional<SseEmitter> subscribe(UUID ownerId, SseEmitter emitter) {
+        if (places.incrementAndGet() > maxSubscribers) {
+            places.decrementAndGet();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(ownerId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // A timeout also ends in onCompletion
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    // Gives the place back exactly once, however many of the callbacks and error paths fire
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            places.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onSlotEvent(SlotEvent event) {
+        broadcast(List.of(event));
+    }
+
+    @TransactionalEventListener
+    public void onSlotBatch(SlotBatchEvent batch) {
+        broadcast(batch.events());
+    }
+
+    // Keeps idle connections from being closed by proxies and detects dead clients
+    @Scheduled(fixedRateString = "${app.slots.stream.heartbeat:15s}",
+            initialDelayString = "${app.slots.stream.heartbeat:15s}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, ping);
+        }
+    }
+
+    private void broadcast(List<SlotEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (SlotEvent event : events) {
+            // Serialized once and shared by every subscriber
+            Set<DataWithMediaType> frame = SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(event.type().eventName())
+                    .data(objectMapper.writeValueAsString(event))
+                    .build();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.follows(event)) {
+                    offer(subscriber, frame);
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> frame) {
+        if (!subscriber.queue().offer(frame)) {
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                Set<DataWithMediaType> frame;
+                while ((frame = subscriber.queue().poll()) != null) {
+                    subscriber.emitter().send(frame);
+                }
+                subscriber.draining().set(false);
+                // A frame offered after the last poll but before the flag was cleared
+            } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the emitter already completed
+            remove(subscriber);
+            subscriber.emitter().completeWithError(ex);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            dropped.increment();
+            // Completing waits for an in-flight send to the slow client; never do that on the
+            // publishing thread
+            senders.execute(subscriber.emitter()::complete);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter().complete();
+        }
+        senders.shutdown();
+    }
+
+    // Identity equality on purpose: it lives in a concurrent set keyed by connection
+    private static final class Subscriber {
+        private final UUID ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(UUID ownerId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        SseEmitter emitter() { return emitter; }
+        BlockingQueue<Set<DataWithMediaType>> queue() { return queue; }
+        AtomicBoolean draining() { return draining; }
+
+        boolean follows(SlotEvent event) {
+            return ownerId == null || ownerId.equals(event.ownerId());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.reserv.reserveme.reservation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Just the time window of a slot, for overlap checks that don't need the full entity
+public record SlotInterval(UUID id, Instant startTime, Instant endTime) {}
@@ -0,0 +1,148 @@
+package org.reserv.reserveme.reservation;
+
+import org.reserv.reserveme.common.IntervalTree;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Optional in-memory index of upcoming slots (end time after the load horizon) that answers
+// time-range queries without going to Postgres. Reads work on an immutable snapshot; writes
+// rebuild the snapshot under the instance lock. The cache is node-local, so it is reloaded on a
+// fixed interval to pick up slots created or deleted by other instances.
+// A reload reads from the primary (a read-write transaction, so not routed to a replica that may
+// trail events already applied here) and keeps every event that arrives while the query runs;
+// those are replayed on top of the loaded rows before the swap, so none is lost to the reload.
+@Component
+public class SlotIntervalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotIntervalCache.class);
+
+    private record Snapshot(Instant horizon, Map<UUID, AvailabilitySlotResponse> byId, IntervalTree<AvailabilitySlotResponse> tree) {}
+
+    private final AvailabilitySlotRepository slotRepository;
+    private final TransactionTemplate primaryTx;
+    private final boolean enabled;
+    private volatile Snapshot snapshot;
+    // Events seen while a reload is in flight; null otherwise. Guarded by this.
+    private List<SlotEvent> duringReload;
+
+    public SlotIntervalCache(AvailabilitySlotRepository slotRepository, PlatformTransactionManager transactionManager,
+                             @Value("${app.slots.interval-cache.enabled:false}") boolean enabled) {
+        this.slotRepository = slotRepository;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns empty when the cache cannot answer (disabled, not loaded yet, or the range reaches
+    // back before the load horizon) and the caller should query the database instead.
+    public Optional<List<AvailabilitySlotResponse>> overlapping(Instant from, Instant to, UUID ownerId) {
+        Snapshot current = snapshot;
+        if (current == null || from == null || from.isBefore(current.horizon())) {
+            return Optional.empty();
+        }
+        List<AvailabilitySlotResponse> hits = current.tree().overlapping(from, to != null ? to : Instant.MAX);
+        if (ownerId != null) {
+            hits.removeIf(s -> !ownerId.equals(s.owner().id()));
+        }
+        return Optional.of(hits);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.slots.interval-cache.refresh-interval:5m}",
+            initialDelayString = "${app.slots.interval-cache.refresh-interval:5m}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        Instant horizon = Instant.now();
+        synchronized (this) {
+            duringReload = new ArrayList<>();
+        }
+        Map<UUID, AvailabilitySlotResponse> byId = new HashMap<>();
+        try {
+            primaryTx.executeWithoutResult(status -> {
+                for (AvailabilitySlot s : slotRepository.findUpcomingWithOwner(horizon)) {
+                    byId.put(s.getId(), AvailabilitySlotResponse.from(s));
+                }
+            });
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                duringReload = null;
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            // Replaying an event the query already saw is harmless: each one sets or removes a slot
+            applyTo(byId, duringReload);
+            duringReload = null;
+            snapshot = build(horizon, byId);
+        }
+        log.info("Slot interval cache loaded {} upcoming slots", byId.size());
+    }
+
+    @TransactionalEventListener
+    public void onSlotEvent(SlotEvent event) {
+        if (event.changesSlot()) {
+            apply(List.of(event));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSlotBatch(SlotBatchEvent batch) {
+        apply(batch.events());
+    }
+
+    private void apply(List<SlotEvent> events) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (duringReload != null) {
+                duringReload.addAll(events);
+            }
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Map<UUID, AvailabilitySlotResponse> byId = new HashMap<>(current.byId());
+            applyTo(byId, events);
+            snapshot = build(current.horizon(), byId);
+        }
+    }
+
+    private static void applyTo(Map<UUID, AvailabilitySlotResponse> byId, List<SlotEvent> events) {
+        for (SlotEvent event : events) {
+            switch (event.type()) {
+                case CREATED -> byId.put(event.slotId(), event.slot());
+                case DELETED -> byId.remove(event.slotId());
+                default -> { }
+            }
+        }
+    }
+
+    private static Snapshot build(Instant horizon, Map<UUID, AvailabilitySlotResponse> byId) {
+        // Slots that ended before the horizon can never match a query the cache accepts
+        byId.values().removeIf(s -> !s.endTime().isAfter(horizon));
+        return new Snapshot(horizon, byId, IntervalTree.of(byId.values(), AvailabilitySlotResponse::startTime, AvailabilitySlotResponse::endTime));
+    }
+}
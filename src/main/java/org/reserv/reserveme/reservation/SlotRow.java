@@ -0,0 +1,19 @@
+package org.reserv.reserveme.reservation;
+
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.user.dto.UserResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// A slot joined with its owner, selected column by column so read endpoints never
+// materialize (or snapshot) the entities
+public record SlotRow(UUID id, Instant startTime, Instant endTime, Instant createdAt,
+                      UUID ownerId, String ownerEmail, String ownerDisplayName, Instant ownerCreatedAt) {
+
+    public AvailabilitySlotResponse toResponse() {
+        return new AvailabilitySlotResponse(id,
+                new UserResponse(ownerId, ownerEmail, ownerDisplayName, ownerCreatedAt),
+                startTime, endTime, createdAt);
+    }
+}
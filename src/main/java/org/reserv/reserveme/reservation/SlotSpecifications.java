@@ -0,0 +1,59 @@
+package org.reserv.reserveme.reservation;
+
+import jakarta.persistence.criteria.Subquery;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Filters for GET /api/slots. Each one is a no-op when its argument is null so callers can
+// combine them freely.
+final class SlotSpecifications {
+
+    private SlotSpecifications() {}
+
+    static Specification<AvailabilitySlot> ownedBy(UUID ownerId) {
+        return (root, query, cb) -> ownerId == null ? null : cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    // Slots that overlap [from, to); either bound may be open
+    static Specification<AvailabilitySlot> overlapping(Instant from, Instant to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) {
+                return null;
+            }
+            if (from == null) {
+                return cb.lessThan(root.get("startTime"), to);
+            }
+            if (to == null) {
+                return cb.greaterThan(root.get("endTime"), from);
+            }
+            return cb.and(cb.lessThan(root.get("startTime"), to), cb.greaterThan(root.get("endTime"), from));
+        };
+    }
+
+    // Slots after a (startTime, id) keyset cursor, for the next page of a search
+    static Specification<AvailabilitySlot> startingAfter(KeysetCursor after) {
+        return (root, query, cb) -> {
+            if (after == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("startTime"), after.key()),
+                    cb.and(cb.equal(root.get("startTime"), after.key()), cb.greaterThan(root.get("id"), after.id())));
+        };
+    }
+
+    // Slots with no ACTIVE or CONFIRMED reservation
+    static Specification<AvailabilitySlot> free() {
+        return (root, query, cb) -> {
+            Subquery<Integer> live = query.subquery(Integer.class);
+            var r = live.from(Reservation.class);
+            live.select(cb.literal(1)).where(
+                    cb.equal(r.get("slotId"), root.get("id")),
+                    r.get("status").in(ReservationStatus.LIVE));
+            return cb.not(cb.exists(live));
+        };
+    }
+}
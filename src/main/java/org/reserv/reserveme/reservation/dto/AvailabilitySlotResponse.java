@@ -14,9 +14,13 @@ public record AvailabilitySlotResponse(
         Instant createdAt
 ) {
     public static AvailabilitySlotResponse from(AvailabilitySlot s) {
+        return from(s, UserResponse.from(s.getOwner()));
+    }
+
+    public static AvailabilitySlotResponse from(AvailabilitySlot s, UserResponse owner) {
         return new AvailabilitySlotResponse(
                 s.getId(),
-                UserResponse.from(s.getOwner()),
+                owner,
                 s.getStartTime(),
                 s.getEndTime(),
                 s.getCreatedAt()
@@ -0,0 +1,24 @@
+package org.reserv.reserveme.reservation.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// Either an explicit list of slots, a weekly recurrence, or both
+public record BulkSlotRequest(
+        List<Window> slots,
+        Recurrence recurrence
+) {
+    public record Window(Instant startTime, Instant endTime) {}
+
+    // Repeats [startTime, endTime) every week until count occurrences or the until instant,
+    // whichever comes first. Weeks are added in timeZone (default UTC) so local times survive
+    // daylight-saving changes.
+    public record Recurrence(
+            String frequency,
+            Instant startTime,
+            Instant endTime,
+            Integer count,
+            Instant until,
+            String timeZone
+    ) {}
+}
@@ -0,0 +1,6 @@
+package org.reserv.reserveme.reservation.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkSlotResponse(List<UUID> ids) {}
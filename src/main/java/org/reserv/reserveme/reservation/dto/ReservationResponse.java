@@ -1,6 +1,7 @@
 package org.reserv.reserveme.reservation.dto;
 
 import org.reserv.reserveme.reservation.Reservation;
+import org.reserv.reserveme.reservation.ReservationStatus;
 import org.reserv.reserveme.reservation.AvailabilitySlot;
 import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
 import org.reserv.reserveme.user.dto.UserResponse;
@@ -12,14 +13,18 @@ public record ReservationResponse(
         UUID id,
         AvailabilitySlotResponse slot,
         UserResponse user,
-        String status,
+        ReservationStatus status,
         Instant createdAt
 ) {
     public static ReservationResponse from(Reservation r, AvailabilitySlot slot) {
+        return from(r, slot, UserResponse.from(r.getRequester()));
+    }
+
+    public static ReservationResponse from(Reservation r, AvailabilitySlot slot, UserResponse requester) {
         return new ReservationResponse(
                 r.getId(),
                 slot != null ? AvailabilitySlotResponse.from(slot) : null,
-                UserResponse.from(r.getRequester()),
+                requester,
                 r.getStatus(),
                 r.getCreatedAt()
         );
@@ -0,0 +1,106 @@
+package org.reserv.reserveme.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs BCrypt on a small dedicated pool so a burst of logins cannot tie up every request
+// thread. Once the queue is full new work is rejected straight away instead of piling up.
+@Component
+public class PasswordHasher {
+
+    private final ThreadPoolExecutor executor;
+    private final int cost;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(@Value("${app.password.hashing.threads:0}") int threads,
+                          @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${app.password.bcrypt-cost:10}") int cost,
+                          MeterRegistry meterRegistry) {
+        // Platform threads even in virtual-thread mode: hashing is CPU-bound and the pool size is the limit
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cost = cost;
+        // BCrypt time on the pool thread; queueing shows up in executor.* as "password.hashing"
+        this.hashTimer = bcryptTimer(meterRegistry, "hash");
+        this.verifyTimer = bcryptTimer(meterRegistry, "verify");
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests turned away because the queue was full")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> hashTimer.record(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost))));
+    }
+
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> verifyTimer.record(() -> BCrypt.checkpw(rawPassword, hash)));
+    }
+
+    // Hashes stored with a different cost factor are upgraded on the next successful login
+    public boolean needsRehash(String hash) {
+        // $2a$10$... -> cost is the two digits after the second '$'
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != cost;
+        } catch (NumberFormatException ex) {
+            return true;
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many concurrent sign-ins, try again shortly");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static Timer bcryptTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.bcrypt")
+                .description("BCrypt work per password hash or check")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package org.reserv.reserveme.user;
+
+// Thrown when the password hashing executor is saturated; mapped to 429 so clients back off
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 
 @Getter
 @Entity
+@EntityListeners(UserCacheEvictionListener.class)
 @Table(name = "users")
 public class User {
     // Explicit getters to ensure they are available at compile time
@@ -47,6 +48,11 @@ public class User {
     }
 
     public String getDisplayName() {
+        return displayNameOf(displayName, email);
+    }
+
+    // Falls back to the local part of the email when no display name was set
+    public static String displayNameOf(String displayName, String email) {
         if (displayName != null && !displayName.isBlank()) {
             return displayName;
         }
@@ -0,0 +1,81 @@
+package org.reserv.reserveme.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Read-through cache of id -> UserSnapshot and email -> id. Misses are not cached, so a user
+// registered a moment ago is found on the next lookup; for that, misses outside a transaction
+// load from the primary rather than a lagging replica. UserCacheEvictionListener evicts
+// entries whenever a User row is inserted, updated or deleted through JPA.
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, UserSnapshot> byId;
+    private final Cache<String, UUID> idByEmail;
+    // Read-write, so it picks the primary; a caller's transaction is joined as it is
+    private final TransactionTemplate primaryTx;
+
+    public UserCache(UserRepository userRepository,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${app.users.cache.max-entries:10000}") long maxEntries,
+                     @Value("${app.users.cache.ttl:10m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.byId = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).recordStats().build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.by-email");
+    }
+
+    public Optional<UserSnapshot> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id, key -> primaryTx.execute(
+                status -> userRepository.findById(key).map(UserSnapshot::from).orElse(null))));
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        UUID id = idByEmail.get(email, key -> primaryTx.execute(
+                status -> userRepository.findByEmail(key).map(User::getId).orElse(null)));
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    public boolean exists(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    // Evicts now and again after commit, so a reader that reloads the old row between
+    // the flush and the commit cannot leave a stale entry behind
+    public void evict(UUID id, String email) {
+        evictNow(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(id, email);
+                }
+            });
+        }
+    }
+
+    private void evictNow(UUID id, String email) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (email != null) {
+            idByEmail.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.reserv.reserveme.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// JPA entity listener for User; Hibernate obtains it from the Spring bean container while the
+// EntityManagerFactory is still starting, so the cache (which needs a repository) is looked up
+// lazily. Bulk JPQL updates bypass it and must evict explicitly if they touch cached fields.
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    public UserCacheEvictionListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        userCache.ifAvailable(cache -> cache.evict(user.getId(), user.getEmail()));
+    }
+}
@@ -1,22 +1,29 @@
 package org.reserv.reserveme.user;
 
+import org.reserv.reserveme.auth.AuthenticatedUser;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.common.NdjsonExporter;
 import org.reserv.reserveme.user.dto.CreateUserRequest;
 import org.reserv.reserveme.user.dto.UserResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonExporter exporter;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NdjsonExporter exporter) {
         this.userService = userService;
+        this.exporter = exporter;
     }
 
     @PostMapping
@@ -27,25 +34,20 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserResponse> listUsers() {
-        return userService.listUsers().stream().map(UserResponse::from).collect(Collectors.toList());
+    public ResponseEntity<List<UserResponse>> listUsers(@RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String cursor) {
+        return userService.listUsers(KeysetCursor.decode(cursor, UserService.LISTING), KeysetCursor.clampLimit(limit)).toResponse();
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonExporter.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return exporter.export(userService::streamUsers, Function.identity());
     }
 
     @GetMapping("/me")
-    public UserResponse me() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getPrincipal() == null) {
-            throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "Not authenticated");
-        }
-        try {
-            java.util.UUID id = java.util.UUID.fromString(auth.getPrincipal().toString());
-            var maybe = userService.findById(id);
-            if (maybe.isEmpty()) {
-                throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "User not found");
-            }
-            return UserResponse.from(maybe.get());
-        } catch (IllegalArgumentException ex) {
-            throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "Invalid token subject");
-        }
+    public UserResponse me(AuthenticatedUser caller) {
+        return userService.findSnapshot(caller.id())
+                .map(UserResponse::from)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
     }
 }
@@ -1,11 +1,47 @@
 package org.reserv.reserveme.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.reserv.reserveme.user.dto.UserResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :passwordHash where u.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("passwordHash") String passwordHash);
+
+    // Read endpoints select straight into the response record: no managed entities,
+    // no dirty-checking snapshots, and the password hash never leaves the database
+    String RESPONSE = "select new org.reserv.reserveme.user.dto.UserResponse(u.id, u.email, u.displayName, u.createdAt) from User u ";
+
+    // Keyset pages in (createdAt, id) order; the *After variant continues past a cursor
+    @Query(RESPONSE + "order by u.createdAt, u.id")
+    List<UserResponse> findPage(Limit limit);
+
+    @Query(RESPONSE + """
+            where u.createdAt > :createdAt or (u.createdAt = :createdAt and u.id > :id)
+            order by u.createdAt, u.id
+            """)
+    List<UserResponse> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE + "order by u.createdAt, u.id")
+    Stream<UserResponse> streamAll();
 }
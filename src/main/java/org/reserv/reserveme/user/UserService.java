@@ -1,52 +1,98 @@
 package org.reserv.reserveme.user;
 
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import io.micrometer.core.annotation.Timed;
+import org.reserv.reserveme.config.MetricsConfig;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.user.dto.UserResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+// Not @Transactional at class level: BCrypt takes ~100 ms and must not run while a
+// connection is checked out. Each repository call runs in its own short transaction.
+// Repository reads default to readOnly, which routes them to the replica; logins read through
+// primaryTx instead so a password set a moment ago (registration, rehash) is always seen.
 @Service
-@Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
 
+    // Keyset listing of GET /api/users, (created_at, id) ascending
+    public static final String LISTING = "users";
+
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
+    private final TransactionTemplate primaryTx;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher, UserCache userCache,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.userCache = userCache;
+        this.primaryTx = new TransactionTemplate(transactionManager);
     }
 
     public User createUser(String email, String displayName) {
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new DuplicateEmailException("Email already in use");
-        }
-
         // For backward compatibility create a user with a generated password placeholder
-        String hashed = BCrypt.hashpw("changeme", BCrypt.gensalt());
-        return userRepository.save(new User(email, hashed, "ROLE_USER", displayName));
+        return register(email, "changeme", displayName);
     }
 
     public User registerUser(String email, String rawPassword, String displayName) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        return register(email, rawPassword, displayName);
+    }
+
+    private User register(String email, String rawPassword, String displayName) {
+        if (userCache.findByEmail(email).isPresent()) {
+            throw new DuplicateEmailException("Email already in use");
+        }
+        String hashed = passwordHasher.hash(rawPassword);
+        try {
+            return userRepository.save(new User(email, hashed, "ROLE_USER", displayName));
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with a concurrent registration for the same email
             throw new DuplicateEmailException("Email already in use");
         }
-        String hashed = BCrypt.hashpw(rawPassword, BCrypt.gensalt());
-        return userRepository.save(new User(email, hashed, "ROLE_USER", displayName));
     }
 
     public User authenticate(String email, String rawPassword) {
-        var user = userRepository.findByEmail(email).orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
-        if (!BCrypt.checkpw(rawPassword, user.getPasswordHash())) {
+        // The transaction ends before the hash is checked
+        var user = primaryTx.execute(status -> userRepository.findByEmail(email))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
+        if (!passwordHasher.matches(rawPassword, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            userRepository.updatePasswordHash(user.getId(), passwordHasher.hash(rawPassword));
+        }
         return user;
     }
 
-    public List<User> listUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> listUsers(KeysetCursor after, int limit) {
+        List<UserResponse> page = after == null
+                ? userRepository.findPage(Limit.of(limit))
+                : userRepository.findPageAfter(after.key(), after.id(), Limit.of(limit));
+        return CursorPage.of(page, limit, u -> new KeysetCursor(LISTING, u.createdAt(), u.id()));
+    }
+
+    // Callers must consume and close the stream inside a transaction
+    public Stream<UserResponse> streamUsers() {
+        return userRepository.streamAll();
     }
 
+    @Transactional(readOnly = true)
     public java.util.Optional<User> findById(java.util.UUID id) {
         return userRepository.findById(id);
     }
+
+    public java.util.Optional<UserSnapshot> findSnapshot(java.util.UUID id) {
+        return userCache.findById(id);
+    }
 }
@@ -0,0 +1,13 @@
+package org.reserv.reserveme.user;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Immutable, detached view of a user for caching. Deliberately leaves out the password hash:
+// credential checks always read the current row.
+public record UserSnapshot(UUID id, String email, String role, String displayName, Instant createdAt) {
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getRole(), user.getDisplayName(), user.getCreatedAt());
+    }
+}
@@ -1,6 +1,7 @@
 package org.reserv.reserveme.user.dto;
 
 import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserSnapshot;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -10,6 +11,11 @@ public record UserResponse(
         String displayName,
         Instant createdAt
 ) {
+    // JPQL projections pass the raw column, so apply the same fallback as User#getDisplayName
+    public UserResponse {
+        displayName = User.displayNameOf(displayName, email);
+    }
+
     public static UserResponse from(User user) {
         return new UserResponse(
                 user.getId(),
@@ -18,4 +24,8 @@ public record UserResponse(
                 user.getCreatedAt()
         );
     }
+
+    public static UserResponse from(UserSnapshot user) {
+        return new UserResponse(user.id(), user.email(), user.displayName(), user.createdAt());
+    }
 }
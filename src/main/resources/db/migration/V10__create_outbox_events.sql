@@ -0,0 +1,17 @@
+-- Transactional outbox: events are inserted in the same transaction as the change they
+-- describe and published afterwards by OutboxRelay. The identity column gives the relay a
+-- stable publishing order; aggregate_id (the slot) is what ordering is guaranteed for.
+CREATE TABLE outbox_events (
+                       id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                       aggregate_id UUID NOT NULL,
+                       event_type VARCHAR(64) NOT NULL,
+                       payload JSONB NOT NULL,
+                       created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                       published_at TIMESTAMPTZ
+);
+
+-- The relay only ever scans the unpublished tail
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+
+-- Retention purge of published events
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,26 @@
+-- Reservation status becomes a smallint code (see ReservationStatus) and rows get a version
+-- for optimistic locking. Status strings were compared case-insensitively, so backfill on
+-- upper(status); any value that isn't a known status fails the NOT NULL and the migration.
+DROP INDEX IF EXISTS ux_reservations_slot_active;
+
+ALTER TABLE reservations
+    ALTER COLUMN status TYPE SMALLINT USING CASE upper(status)
+        WHEN 'ACTIVE' THEN 0
+        WHEN 'PENDING' THEN 0
+        WHEN 'CONFIRMED' THEN 1
+        WHEN 'CANCELLED' THEN 2
+        WHEN 'REJECTED' THEN 3
+    END;
+
+ALTER TABLE reservations ADD CONSTRAINT ck_reservations_status CHECK (status BETWEEN 0 AND 3);
+
+ALTER TABLE reservations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Live (ACTIVE or CONFIRMED) reservations, same predicate as ReservationStatus.LIVE
+CREATE UNIQUE INDEX ux_reservations_slot_active
+    ON reservations (slot_id)
+    WHERE status IN (0, 1);
+
+-- Per-slot status lookups (free-slot search, bySlot); covers the old slot_id index
+CREATE INDEX idx_reservations_slot_status ON reservations (slot_id, status);
+DROP INDEX IF EXISTS idx_reservations_slot;
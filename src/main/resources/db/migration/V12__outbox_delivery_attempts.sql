@@ -0,0 +1,14 @@
+-- Failed deliveries are counted per event. After app.outbox.relay.max-attempts the event is
+-- dead-lettered (failed_at set): the relay stops retrying it and lets the aggregate's later
+-- events through. Clear failed_at and attempts to requeue it.
+ALTER TABLE outbox_events
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN last_error TEXT,
+    ADD COLUMN failed_at TIMESTAMPTZ;
+
+-- The relay scans only the live tail
+DROP INDEX idx_outbox_events_unpublished;
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL AND failed_at IS NULL;
+
+-- Dead letters, for inspection and requeueing by hand
+CREATE INDEX idx_outbox_events_failed_at ON outbox_events (failed_at) WHERE failed_at IS NOT NULL;
@@ -0,0 +1,16 @@
+-- Every hash a family has rotated away from, not just the last one, so replaying a token
+-- from any earlier generation is recognised as reuse and revokes the family. Rows go with
+-- their family (expiry purge, per-user cap, revocation).
+CREATE TABLE refresh_token_spent_hashes (
+                       token_hash BYTEA PRIMARY KEY,
+                       family_id UUID NOT NULL REFERENCES refresh_tokens (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_spent_hashes_family ON refresh_token_spent_hashes (family_id);
+
+INSERT INTO refresh_token_spent_hashes (token_hash, family_id)
+SELECT previous_token_hash, id FROM refresh_tokens WHERE previous_token_hash IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+DROP INDEX idx_refresh_tokens_previous_hash;
+ALTER TABLE refresh_tokens DROP COLUMN previous_token_hash;
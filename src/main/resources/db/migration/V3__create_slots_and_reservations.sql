@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS availability_slots (
+                       id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                       owner_user_id UUID NOT NULL REFERENCES users (id),
+                       start_time TIMESTAMPTZ NOT NULL,
+                       end_time TIMESTAMPTZ NOT NULL,
+                       created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+                       id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                       slot_id UUID NOT NULL REFERENCES availability_slots (id) ON DELETE CASCADE,
+                       requester_user_id UUID NOT NULL REFERENCES users (id),
+                       status VARCHAR(255) NOT NULL,
+                       created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+                       token UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                       user_id UUID NOT NULL REFERENCES users (id),
+                       expires_at TIMESTAMPTZ NOT NULL,
+                       created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
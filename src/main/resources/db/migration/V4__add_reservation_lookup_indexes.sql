@@ -0,0 +1,9 @@
+-- Supports the combined incoming/outgoing reservation listing ordered by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_reservations_requester_created
+    ON reservations (requester_user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_slot
+    ON reservations (slot_id);
+
+CREATE INDEX IF NOT EXISTS idx_availability_slots_owner
+    ON availability_slots (owner_user_id);
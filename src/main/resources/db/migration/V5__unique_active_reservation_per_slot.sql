@@ -0,0 +1,26 @@
+-- At most one live (ACTIVE or CONFIRMED) reservation per slot. Concurrent bookings race on
+-- this index instead of a read-then-insert check in the application.
+
+-- The index predicate is case-sensitive, but statuses used to be compared with equalsIgnoreCase;
+-- store them upper-case first. PENDING is the same state as ACTIVE (see V11).
+UPDATE reservations SET status = upper(status) WHERE status <> upper(status);
+UPDATE reservations SET status = 'ACTIVE' WHERE status = 'PENDING';
+
+-- Bookings used to be refused only while an ACTIVE reservation existed, so a slot may hold an
+-- ACTIVE next to a CONFIRMED one, or several CONFIRMED. Keep one per slot (the earliest
+-- CONFIRMED, else the earliest ACTIVE) and cancel the others so the index can be built.
+UPDATE reservations r
+SET status = 'CANCELLED'
+FROM (
+    SELECT id,
+           row_number() OVER (PARTITION BY slot_id
+                              ORDER BY status = 'CONFIRMED' DESC, created_at, id) AS rank
+    FROM reservations
+    WHERE status IN ('ACTIVE', 'CONFIRMED')
+) ranked
+WHERE r.id = ranked.id
+  AND ranked.rank > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_reservations_slot_active
+    ON reservations (slot_id)
+    WHERE status IN ('ACTIVE', 'CONFIRMED');
@@ -0,0 +1,10 @@
+-- Owner calendar views filter on owner and scan by start time
+CREATE INDEX IF NOT EXISTS idx_availability_slots_owner_start
+    ON availability_slots (owner_user_id, start_time);
+
+-- Range search across owners: start_time < :to AND end_time > :from
+CREATE INDEX IF NOT EXISTS idx_availability_slots_start_end
+    ON availability_slots (start_time, end_time);
+
+-- Covered by the (owner_user_id, start_time) index
+DROP INDEX IF EXISTS idx_availability_slots_owner;
@@ -0,0 +1,44 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Older versions did not check for overlaps, so existing data may already break the constraint.
+-- Slots can carry reservations (and deleting one cascades to them), so which slot to keep is not
+-- ours to decide: stop with a list of the offending slots instead of failing halfway through
+-- ALTER TABLE. Resolve them, then rerun the migration.
+DO $$
+DECLARE
+    inverted_count BIGINT;
+    overlap_count BIGINT;
+    examples TEXT;
+BEGIN
+    SELECT count(*) INTO inverted_count FROM availability_slots WHERE end_time < start_time;
+    IF inverted_count > 0 THEN
+        RAISE EXCEPTION 'V7: % availability slot(s) end before they start; fix end_time before migrating', inverted_count;
+    END IF;
+
+    -- Empty ranges (start = end) never conflict under the constraint, so they are skipped here too
+    SELECT count(*),
+           string_agg(format('owner %s: slots %s and %s', owner_user_id, id, other_id), '; ')
+               FILTER (WHERE rn <= 10)
+    INTO overlap_count, examples
+    FROM (
+        SELECT a.owner_user_id, a.id, b.id AS other_id,
+               row_number() OVER (ORDER BY a.owner_user_id, a.start_time, b.start_time) AS rn
+        FROM availability_slots a
+        JOIN availability_slots b
+          ON b.owner_user_id = a.owner_user_id
+         AND a.id < b.id
+         AND a.start_time < b.end_time
+         AND b.start_time < a.end_time
+        WHERE a.start_time < a.end_time
+          AND b.start_time < b.end_time
+    ) pairs;
+    IF overlap_count > 0 THEN
+        RAISE EXCEPTION 'V7: % pair(s) of overlapping availability slots for the same owner; delete or move one slot of each pair before migrating. First pairs: %',
+            overlap_count, examples;
+    END IF;
+END $$;
+
+-- An owner's slots may touch but never overlap ([start, end) ranges)
+ALTER TABLE availability_slots
+    ADD CONSTRAINT ex_availability_slots_owner_no_overlap
+    EXCLUDE USING gist (owner_user_id WITH =, tstzrange(start_time, end_time) WITH &&);
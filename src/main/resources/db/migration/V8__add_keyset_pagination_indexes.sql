@@ -0,0 +1,9 @@
+-- Keyset pagination and NDJSON export walk each table in (created_at, id) order
+CREATE INDEX IF NOT EXISTS idx_users_created_id
+    ON users (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_availability_slots_created_id
+    ON availability_slots (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_created_id
+    ON reservations (created_at, id);
@@ -0,0 +1,25 @@
+-- One row per sign-in ("token family"). Only a SHA-256 of the current refresh token is
+-- stored; rotating swaps the hash in place, keeping the previous one to detect replays.
+-- Outstanding refresh tokens from the old layout are dropped; holders sign in again.
+DROP TABLE IF EXISTS refresh_tokens;
+
+CREATE TABLE refresh_tokens (
+                       id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                       user_id UUID NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+                       token_hash BYTEA NOT NULL,
+                       previous_token_hash BYTEA,
+                       expires_at TIMESTAMPTZ NOT NULL,
+                       created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                       rotated_at TIMESTAMPTZ
+);
+
+CREATE UNIQUE INDEX ux_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+
+CREATE INDEX idx_refresh_tokens_previous_hash
+    ON refresh_tokens (previous_token_hash) WHERE previous_token_hash IS NOT NULL;
+
+-- Per-user cap keeps the newest families
+CREATE INDEX idx_refresh_tokens_user_created ON refresh_tokens (user_id, created_at DESC);
+
+-- Purge job walks expired rows in chunks
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
@@ -0,0 +1,49 @@
+package org.reserv.reserveme.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthenticatedUserTest {
+
+    private final AuthenticatedUserArgumentResolver resolver = new AuthenticatedUserArgumentResolver();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void fromClaims_readsSubjectRoleAndEmail() {
+        UUID id = UUID.randomUUID();
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(Map.of("sub", id.toString(), "role", "ROLE_USER", "email", "a@example.com"));
+
+        assertThat(user).isEqualTo(new AuthenticatedUser(id, "ROLE_USER", "a@example.com"));
+        assertThat(user.getName()).isEqualTo(id.toString());
+        assertThat(user.authorities()).singleElement().satisfies(a -> assertThat(a.getAuthority()).isEqualTo("ROLE_USER"));
+        // Authority lists are shared between principals with the same role
+        assertThat(new AuthenticatedUser(UUID.randomUUID(), "ROLE_USER", "b@example.com").authorities()).isSameAs(user.authorities());
+    }
+
+    @Test
+    void resolveArgument_returnsPrincipalFromSecurityContext() {
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "ROLE_USER", "a@example.com");
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities()));
+
+        assertThat(resolver.resolveArgument(null, null, null, null)).isSameAs(user);
+    }
+
+    @Test
+    void resolveArgument_withoutAuthentication_isUnauthorized() {
+        assertThatThrownBy(() -> resolver.resolveArgument(null, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package org.reserv.reserveme.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reserv.reserveme.user.UserSnapshot;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwt = new JwtService("test-secret-that-is-long-enough-for-hmac-sha256",
+            new TokenClaimsCache(false, 100, meterRegistry), meterRegistry);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwt);
+    private final AuthenticatedUser caller = new AuthenticatedUser(UUID.randomUUID(), "ROLE_USER", "f@example.com");
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The principal the rest of the chain saw, or null if the request stayed anonymous
+    private Object principalFor(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Object> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            var auth = SecurityContextHolder.getContext().getAuthentication();
+            seen.set(auth == null ? null : auth.getPrincipal());
+        });
+        return seen.get();
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String queryToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (queryToken != null) {
+            request.setParameter(JwtAuthenticationFilter.STREAM_TOKEN_PARAM, queryToken);
+        }
+        return request;
+    }
+
+    @Test
+    void streamTokenInQuery_authenticatesTheStream() throws Exception {
+        Object principal = principalFor(request("GET", JwtAuthenticationFilter.STREAM_PATH, jwt.generateStreamToken(caller)));
+
+        assertThat(principal).isEqualTo(caller);
+    }
+
+    @Test
+    void streamTokenInQuery_isIgnoredOnOtherRoutes() throws Exception {
+        String token = jwt.generateStreamToken(caller);
+
+        assertThat(principalFor(request("GET", "/api/slots", token))).isNull();
+        assertThat(principalFor(request("POST", JwtAuthenticationFilter.STREAM_PATH, token))).isNull();
+    }
+
+    @Test
+    void accessTokenInQuery_isRejected() throws Exception {
+        String access = jwt.generateAccessToken(new UserSnapshot(caller.id(), caller.email(), caller.role(), "F", null));
+
+        assertThat(principalFor(request("GET", JwtAuthenticationFilter.STREAM_PATH, access))).isNull();
+    }
+
+    @Test
+    void streamTokenAsBearer_isRejected() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/reservations", null);
+        request.addHeader("Authorization", "Bearer " + jwt.generateStreamToken(caller));
+
+        assertThat(principalFor(request)).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package org.reserv.reserveme.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reserv.reserveme.user.User;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtService service(boolean cacheEnabled) {
+        return new JwtService(SECRET, new TokenClaimsCache(cacheEnabled, 100, meterRegistry), meterRegistry);
+    }
+
+    private static User user() throws Exception {
+        User user = new User("jwt@example.com", "h", "ROLE_USER");
+        Field f = User.class.getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(user, UUID.randomUUID());
+        return user;
+    }
+
+    private long verifications() {
+        return meterRegistry.get("jwt.parse").timer().count();
+    }
+
+    @Test
+    void parseToken_sameTokenIsVerifiedOnce() throws Exception {
+        JwtService jwt = service(true);
+        User user = user();
+        String token = jwt.generateAccessToken(user);
+
+        Map<String, Object> first = jwt.parseToken(token);
+        Map<String, Object> second = jwt.parseToken(token);
+
+        assertThat(first.get("sub")).isEqualTo(user.getId().toString());
+        assertThat(second).isEqualTo(first);
+        assertThat(verifications()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void parseToken_tamperedTokenIsRejectedEveryTime() throws Exception {
+        JwtService jwt = service(true);
+        String token = jwt.generateAccessToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwt.parseToken(tampered)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> jwt.parseToken(tampered)).isInstanceOf(RuntimeException.class);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    @Test
+    void parseToken_withCacheDisabled_verifiesEveryCall() throws Exception {
+        JwtService jwt = service(false);
+        String token = jwt.generateAccessToken(user());
+
+        jwt.parseToken(token);
+        jwt.parseToken(token);
+
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    @Test
+    void generateStreamToken_carriesStreamScopeAndShortExpiry() throws Exception {
+        JwtService jwt = service(false);
+        User user = user();
+        AuthenticatedUser caller = new AuthenticatedUser(user.getId(), user.getRole(), user.getEmail());
+
+        Map<String, Object> access = jwt.parseToken(jwt.generateAccessToken(user));
+        Map<String, Object> stream = jwt.parseToken(jwt.generateStreamToken(caller));
+
+        assertThat(access).doesNotContainKey(JwtService.SCOPE_CLAIM);
+        assertThat(stream.get(JwtService.SCOPE_CLAIM)).isEqualTo(JwtService.STREAM_SCOPE);
+        assertThat(stream.get("sub")).isEqualTo(user.getId().toString());
+        long lifetime = ((Number) stream.get("exp")).longValue() - ((Number) stream.get("iat")).longValue();
+        assertThat(lifetime).isEqualTo(JwtService.STREAM_TOKEN_TTL.toSeconds());
+    }
+}
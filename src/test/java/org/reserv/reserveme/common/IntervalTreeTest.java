@@ -0,0 +1,62 @@
+package org.reserv.reserveme.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private record Interval(int id, Instant start, Instant end) {}
+
+    private static Instant t(long minutes) {
+        return Instant.parse("2026-01-01T00:00:00Z").plusSeconds(minutes * 60);
+    }
+
+    @Test
+    void overlapping_halfOpenBounds() {
+        var tree = IntervalTree.of(List.of(
+                new Interval(1, t(0), t(60)),
+                new Interval(2, t(60), t(120)),
+                new Interval(3, t(30), t(90))), Interval::start, Interval::end);
+
+        assertThat(tree.overlapping(t(60), t(61))).extracting(Interval::id).containsExactly(3, 2);
+        assertThat(tree.overlapping(t(120), t(180))).isEmpty();
+        assertThat(tree.overlapping(t(-10), t(0))).isEmpty();
+        assertThat(tree.overlapping(t(-10), Instant.MAX)).extracting(Interval::id).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void overlapping_matchesBruteForce() {
+        Random random = new Random(42);
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long start = random.nextInt(100_000);
+            intervals.add(new Interval(i, t(start), t(start + 1 + random.nextInt(500))));
+        }
+        var tree = IntervalTree.of(intervals, Interval::start, Interval::end);
+
+        for (int q = 0; q < 500; q++) {
+            long from = random.nextInt(100_000);
+            Instant qFrom = t(from);
+            Instant qTo = t(from + 1 + random.nextInt(2_000));
+            List<Integer> expected = intervals.stream()
+                    .filter(i -> i.start().isBefore(qTo) && i.end().isAfter(qFrom))
+                    .map(Interval::id)
+                    .sorted()
+                    .toList();
+            List<Integer> actual = tree.overlapping(qFrom, qTo).stream().map(Interval::id).sorted().toList();
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void empty_hasNoMatches() {
+        assertThat(IntervalTree.<Interval>empty().overlapping(t(0), t(10))).isEmpty();
+        assertThat(IntervalTree.<Interval>empty().size()).isZero();
+    }
+}
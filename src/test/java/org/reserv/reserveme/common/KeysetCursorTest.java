@@ -0,0 +1,40 @@
+package org.reserv.reserveme.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encode_roundTripsWithinItsListing() {
+        KeysetCursor cursor = new KeysetCursor("slots.search", Instant.parse("2026-03-01T10:00:00.123456Z"), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode(), "slots.search")).isEqualTo(cursor);
+        assertThat(KeysetCursor.decode(null, "slots.search")).isNull();
+    }
+
+    @Test
+    void decode_rejectsCursorFromAnotherListing() {
+        String cursor = new KeysetCursor("reservations.user", Instant.now(), UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, "reservations"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor", "reservations"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void idOrder_comparesUnsignedLikePostgres() {
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+        assertThat(low.compareTo(high)).isPositive();
+        assertThat(KeysetCursor.ID_ORDER.compare(low, high)).isNegative();
+        assertThat(new KeysetCursor("x", Instant.EPOCH, low).precedes(Instant.EPOCH, high)).isTrue();
+    }
+}
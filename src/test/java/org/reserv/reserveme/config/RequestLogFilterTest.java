@@ -0,0 +1,50 @@
+package org.reserv.reserveme.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogFilterTest {
+
+    private final RequestLogFilter filter = new RequestLogFilter(true, 1.0, 1.0, 1.0);
+
+    @Test
+    void requestIdIsEchoedAndVisibleInMdcOnlyWhileServing() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/slots");
+        request.addHeader(RequestLogFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(MDC.get(RequestLogFilter.REQUEST_ID_MDC));
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(seen.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(RequestLogFilter.REQUEST_ID_HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(RequestLogFilter.REQUEST_ID_MDC)).isNull();
+    }
+
+    @Test
+    void unusableRequestIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/slots");
+        request.addHeader(RequestLogFilter.REQUEST_ID_HEADER, "bad id\nwith a newline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getHeader(RequestLogFilter.REQUEST_ID_HEADER)).matches("[0-9a-f-]{36}");
+    }
+
+    @Test
+    void errorsAreTheirOwnCategoryWhateverTheMethod() {
+        assertThat(RequestLogFilter.categoryOf("GET", 200)).isEqualTo(RequestLogFilter.Category.READ);
+        assertThat(RequestLogFilter.categoryOf("POST", 201)).isEqualTo(RequestLogFilter.Category.WRITE);
+        assertThat(RequestLogFilter.categoryOf("GET", 404)).isEqualTo(RequestLogFilter.Category.ERROR);
+        assertThat(RequestLogFilter.categoryOf("DELETE", 409)).isEqualTo(RequestLogFilter.Category.ERROR);
+    }
+}
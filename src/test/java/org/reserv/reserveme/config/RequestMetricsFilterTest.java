@@ -0,0 +1,51 @@
+package org.reserv.reserveme.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCapture inspector = new SqlStatementCapture();
+
+    @Test
+    void countsStatementsPerRequestUnderTheRouteTemplate() throws Exception {
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, false, Duration.ofMillis(500), 50);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/reservations/{reservationId}");
+            inspector.inspect("select 1");
+            inspector.inspect("update reservations set status=1");
+        };
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/reservations/42"), new MockHttpServletResponse(), chain);
+
+        DistributionSummary sql = meterRegistry.get("http.server.requests.sql")
+                .tag("method", "PUT")
+                .tag("uri", "/api/reservations/{reservationId}")
+                .summary();
+        assertThat(sql.count()).isEqualTo(1);
+        assertThat(sql.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotCounted() throws Exception {
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, true, Duration.ZERO, 1);
+        FilterChain chain = (req, res) -> inspector.inspect("select 1");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/slots"), new MockHttpServletResponse(), chain);
+        // e.g. the outbox relay, after the request has finished
+        inspector.inspect("select 2");
+
+        DistributionSummary sql = meterRegistry.get("http.server.requests.sql").tag("uri", "UNKNOWN").summary();
+        assertThat(sql.totalAmount()).isEqualTo(1);
+    }
+}
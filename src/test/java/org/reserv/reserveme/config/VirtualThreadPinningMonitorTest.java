@@ -0,0 +1,55 @@
+package org.reserv.reserveme.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void stop() {
+        monitor.stop();
+    }
+
+    private long pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").timer().count();
+    }
+
+    @Test
+    void sleepingInsideSynchronized_isRecordedAsPinned() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(true, Duration.ofMillis(1), meterRegistry);
+        monitor.start();
+
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }).join();
+
+        // JFR streams events in periodic flushes
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinnedCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void disabled_doesNotStartRecording() {
+        monitor = new VirtualThreadPinningMonitor(false, Duration.ofMillis(1), meterRegistry);
+        monitor.start();
+
+        assertThat(pinnedCount()).isZero();
+    }
+}
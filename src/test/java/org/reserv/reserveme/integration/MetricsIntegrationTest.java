@@ -0,0 +1,86 @@
+package org.reserv.reserveme.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MetricsIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private String baseUrl() { return "http://localhost:" + port; }
+
+    @Test
+    public void prometheusEndpoint_exposesRequestServiceSqlAndPoolMetrics() {
+        Map<String, Object> payload = Map.of(
+                "email", "metrics+" + UUID.randomUUID() + "@example.com",
+                "password", "pass",
+                "displayName", "Metrics");
+        ResponseEntity<Map> reg = restTemplate.postForEntity(baseUrl() + "/api/auth/register", payload, Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) reg.getBody().get("accessToken"));
+        restTemplate.exchange(baseUrl() + "/api/reservations", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // No token: the scrape endpoint is open on the management port
+        String scrape = restTemplate.getForObject("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("service_method_seconds_count{class=\"org.reserv.reserveme.reservation.ReservationService\"")
+                .contains("http_server_requests_sql_statements_count{method=\"GET\",uri=\"/api/reservations\"}")
+                .contains("auth_password_bcrypt_seconds_count{operation=\"hash\"}")
+                .contains("jwt_parse_seconds_count")
+                .contains("hikaricp_connections_acquire_seconds");
+    }
+
+    @Test
+    public void apiPort_doesNotServeActuatorWithoutAToken() {
+        assertThat(managementPort).isNotEqualTo(port);
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl() + "/actuator/prometheus", String.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isIn(401, 403));
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl() + "/actuator/health", String.class))
+                .isInstanceOf(HttpClientErrorException.class);
+    }
+}
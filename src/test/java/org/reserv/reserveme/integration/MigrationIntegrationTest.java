@@ -0,0 +1,138 @@
+package org.reserv.reserveme.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Migrations that add constraints must cope with rows written before the constraint existed.
+// Each test migrates an empty schema up to just before the migration, writes the kind of data
+// older versions allowed, and migrates the rest of the way.
+@Testcontainers
+public class MigrationIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void cleanSchema() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbc = new JdbcTemplate(dataSource);
+        flyway(null).clean();
+    }
+
+    @Test
+    public void v5_normalisesStatusesAndCancelsDuplicateLiveReservations() {
+        flyway("4").migrate();
+        UUID owner = user("owner");
+        UUID requester = user("requester");
+        Instant start = Instant.parse("2026-03-01T10:00:00Z");
+        UUID slot = slot(owner, start, start.plus(1, ChronoUnit.HOURS));
+        UUID otherSlot = slot(owner, start.plus(2, ChronoUnit.HOURS), start.plus(3, ChronoUnit.HOURS));
+        Instant t0 = Instant.parse("2026-02-01T00:00:00Z");
+        UUID olderActive = reservation(slot, requester, "active", t0);
+        UUID confirmed = reservation(slot, requester, "Confirmed", t0.plusSeconds(1));
+        UUID laterActive = reservation(slot, requester, "ACTIVE", t0.plusSeconds(2));
+        UUID pending = reservation(otherSlot, requester, "pending", t0);
+        UUID newerActive = reservation(otherSlot, requester, "ACTIVE", t0.plusSeconds(1));
+
+        flyway("5").migrate();
+
+        Map<UUID, String> status = statuses();
+        assertThat(status.get(confirmed)).isEqualTo("CONFIRMED");
+        assertThat(status.get(olderActive)).isEqualTo("CANCELLED");
+        assertThat(status.get(laterActive)).isEqualTo("CANCELLED");
+        assertThat(status.get(pending)).isEqualTo("ACTIVE");
+        assertThat(status.get(newerActive)).isEqualTo("CANCELLED");
+
+        // The rest of the chain applies on top of the repaired data
+        flyway(null).migrate();
+    }
+
+    @Test
+    public void v7_refusesOverlappingSlotsWithAMessageNamingThem() {
+        flyway("6").migrate();
+        UUID owner = user("owner");
+        Instant start = Instant.parse("2026-03-01T10:00:00Z");
+        UUID first = slot(owner, start, start.plus(1, ChronoUnit.HOURS));
+        UUID second = slot(owner, start.plus(30, ChronoUnit.MINUTES), start.plus(90, ChronoUnit.MINUTES));
+
+        assertThatThrownBy(() -> flyway("7").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("1 pair(s) of overlapping availability slots")
+                .hasMessageContaining(first.toString())
+                .hasMessageContaining(second.toString());
+    }
+
+    @Test
+    public void v7_acceptsTouchingSlotsAndOtherOwnersOverlapping() {
+        flyway("6").migrate();
+        UUID owner = user("owner");
+        UUID other = user("other");
+        Instant start = Instant.parse("2026-03-01T10:00:00Z");
+        slot(owner, start, start.plus(1, ChronoUnit.HOURS));
+        slot(owner, start.plus(1, ChronoUnit.HOURS), start.plus(2, ChronoUnit.HOURS));
+        slot(other, start, start.plus(2, ChronoUnit.HOURS));
+
+        flyway(null).migrate();
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM availability_slots", Integer.class)).isEqualTo(3);
+    }
+
+    private Flyway flyway(String target) {
+        var config = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false);
+        if (target != null) {
+            config.target(target);
+        }
+        return config.load();
+    }
+
+    private UUID user(String name) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, email, password_hash, role) VALUES (?, ?, 'x', 'ROLE_USER')",
+                id, name + "+" + id + "@example.com");
+        return id;
+    }
+
+    private UUID slot(UUID owner, Instant start, Instant end) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO availability_slots (id, owner_user_id, start_time, end_time) VALUES (?, ?, ?, ?)",
+                id, owner, java.sql.Timestamp.from(start), java.sql.Timestamp.from(end));
+        return id;
+    }
+
+    private UUID reservation(UUID slot, UUID requester, String status, Instant createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO reservations (id, slot_id, requester_user_id, status, created_at) VALUES (?, ?, ?, ?, ?)",
+                id, slot, requester, status, java.sql.Timestamp.from(createdAt));
+        return id;
+    }
+
+    private Map<UUID, String> statuses() {
+        Map<UUID, String> result = new java.util.HashMap<>();
+        jdbc.query("SELECT id, status FROM reservations",
+                rs -> { result.put(rs.getObject("id", UUID.class), rs.getString("status")); });
+        return result;
+    }
+}
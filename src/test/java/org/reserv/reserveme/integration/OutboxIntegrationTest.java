@@ -0,0 +1,225 @@
+package org.reserv.reserveme.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reserv.reserveme.outbox.OutboxListener;
+import org.reserv.reserveme.outbox.OutboxMessage;
+import org.reserv.reserveme.outbox.OutboxRelay;
+import org.reserv.reserveme.reservation.AvailabilitySlot;
+import org.reserv.reserveme.reservation.AvailabilitySlotRepository;
+import org.reserv.reserveme.reservation.AvailabilitySlotService;
+import org.reserv.reserveme.reservation.Reservation;
+import org.reserv.reserveme.reservation.ReservationService;
+import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest
+public class OutboxIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // The tests drive the relay themselves
+        registry.add("app.outbox.relay.interval", () -> "1h");
+        registry.add("app.outbox.relay.batch-size", () -> BATCH_SIZE);
+        registry.add("app.outbox.relay.max-attempts", () -> MAX_ATTEMPTS);
+    }
+
+    private static final int BATCH_SIZE = 5;
+    private static final int MAX_ATTEMPTS = 3;
+
+    // In-memory stand-in for a real transport: records deliveries and can fail on demand
+    static class RecordingListener implements OutboxListener {
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        final Set<UUID> failOnce = ConcurrentHashMap.newKeySet();
+        // The reservation.created event of these aggregates can never be delivered
+        final Set<UUID> poisonCreated = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void on(OutboxMessage message) {
+            if (failOnce.remove(message.aggregateId())) {
+                throw new IllegalStateException("transport unavailable");
+            }
+            if (message.type().equals("reservation.created") && poisonCreated.contains(message.aggregateId())) {
+                throw new IllegalArgumentException("unreadable payload");
+            }
+            received.add(message);
+        }
+
+        List<String> typesFor(UUID aggregateId) {
+            return received.stream().filter(m -> m.aggregateId().equals(aggregateId)).map(OutboxMessage::type).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private AvailabilitySlotService slotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User owner;
+    private User requester;
+
+    @BeforeEach
+    void setup() {
+        owner = userRepository.save(new User("ob-owner+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Owner"));
+        requester = userRepository.save(new User("ob-req+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Requester"));
+        listener.received.clear();
+    }
+
+    private AvailabilitySlot slot(int hoursAhead) {
+        Instant start = Instant.now().plusSeconds(3600L * hoursAhead);
+        return slotRepository.save(new AvailabilitySlot(owner, start, start.plusSeconds(1800)));
+    }
+
+    private Reservation reserve(AvailabilitySlot slot) {
+        return reservationService.createReservation(new CreateReservationRequest(requester.getId(), slot.getId()));
+    }
+
+    @Test
+    public void lifecycleEvents_areDeliveredOnceInOrder() throws Exception {
+        AvailabilitySlot slot = slot(1);
+        Reservation reservation = reserve(slot);
+        reservationService.confirmReservation(reservation.getId(), owner.getId());
+        reservationService.deleteReservation(reservation.getId(), requester.getId());
+
+        assertThat(listener.typesFor(slot.getId())).isEmpty();
+        relay.relay();
+
+        assertThat(listener.typesFor(slot.getId()))
+                .containsExactly("reservation.created", "reservation.confirmed", "reservation.cancelled");
+        assertThat(listener.received.getFirst().payload()).contains(reservation.getId().toString());
+
+        relay.relay();
+        assertThat(listener.typesFor(slot.getId())).hasSize(3);
+        assertThat(meterRegistry.get("outbox.lag").timeGauge().value()).isZero();
+    }
+
+    @Test
+    public void deletingABookedSlot_recordsTheRejection() throws Exception {
+        AvailabilitySlot slot = slot(2);
+        Reservation reservation = reserve(slot);
+
+        slotService.deleteSlot(slot.getId(), owner.getId());
+        relay.relay();
+
+        assertThat(listener.typesFor(slot.getId())).containsExactly("reservation.created", "reservation.rejected");
+        assertThat(listener.received.getLast().payload()).contains(reservation.getId().toString());
+    }
+
+    @Test
+    public void failedDelivery_holdsBackThatSlotOnlyAndIsRetried() throws Exception {
+        AvailabilitySlot failing = slot(10);
+        AvailabilitySlot healthy = slot(11);
+        Reservation first = reserve(failing);
+        reserve(healthy);
+        reservationService.confirmReservation(first.getId(), owner.getId());
+        listener.failOnce.add(failing.getId());
+
+        relay.relay();
+
+        assertThat(listener.typesFor(healthy.getId())).containsExactly("reservation.created");
+        // the confirmation must not overtake the failed creation
+        assertThat(listener.typesFor(failing.getId())).isEmpty();
+
+        relay.relay();
+
+        assertThat(listener.typesFor(failing.getId())).containsExactly("reservation.created", "reservation.confirmed");
+        assertThat(listener.typesFor(healthy.getId())).containsExactly("reservation.created");
+    }
+
+    @Test
+    public void poisonEvent_neverStallsOtherSlotsAndIsDeadLettered() throws Exception {
+        AvailabilitySlot poisoned = slot(20);
+        Reservation first = reserve(poisoned);
+        reservationService.confirmReservation(first.getId(), owner.getId());
+        listener.poisonCreated.add(poisoned.getId());
+        // More events behind the poisoned slot than fit in one batch
+        List<AvailabilitySlot> others = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE * 2 + 1; i++) {
+            AvailabilitySlot other = slot(21 + i);
+            reserve(other);
+            others.add(other);
+        }
+
+        relay.relay();
+
+        assertThat(others).allSatisfy(other ->
+                assertThat(listener.typesFor(other.getId())).containsExactly("reservation.created"));
+        assertThat(listener.typesFor(poisoned.getId())).isEmpty();
+
+        for (int run = 2; run <= MAX_ATTEMPTS; run++) {
+            relay.relay();
+        }
+        Map<String, Object> deadLetter = jdbc.queryForMap(
+                "SELECT attempts, last_error, failed_at FROM outbox_events WHERE aggregate_id = ? AND event_type = 'reservation.created'",
+                poisoned.getId());
+        assertThat(deadLetter.get("attempts")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(deadLetter.get("failed_at")).isNotNull();
+        assertThat((String) deadLetter.get("last_error")).contains("unreadable payload");
+        assertThat(meterRegistry.get("outbox.dead.lettered").counter().count()).isGreaterThanOrEqualTo(1.0);
+
+        // The confirmation no longer waits for the dead-lettered creation
+        relay.relay();
+        assertThat(listener.typesFor(poisoned.getId())).containsExactly("reservation.confirmed");
+        assertThat(meterRegistry.get("outbox.lag").timeGauge().value()).isZero();
+    }
+}
@@ -0,0 +1,242 @@
+package org.reserv.reserveme.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.reservation.AvailabilitySlot;
+import org.reserv.reserveme.reservation.AvailabilitySlotRepository;
+import org.reserv.reserveme.reservation.AvailabilitySlotService;
+import org.reserv.reserveme.reservation.Reservation;
+import org.reserv.reserveme.reservation.ReservationDirection;
+import org.reserv.reserveme.reservation.ReservationRepository;
+import org.reserv.reserveme.reservation.ReservationService;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
+import org.reserv.reserveme.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryCountIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        // Statistics are global; keep the outbox relay's polling out of the counts
+        registry.add("app.outbox.relay.interval", () -> "1h");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private AvailabilitySlotService slotService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User owner;
+    private User requester;
+    private int seeded;
+
+    @BeforeAll
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(new User("qc-owner+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Owner"));
+        requester = userRepository.save(new User("qc-req+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Requester"));
+    }
+
+    private AvailabilitySlot seedSlot() {
+        // Owners cannot hold overlapping slots, so keep every seeded slot in its own hour
+        Instant start = Instant.now().plusSeconds(3600L * ++seeded);
+        return slotRepository.save(new AvailabilitySlot(owner, start, start.plusSeconds(1800)));
+    }
+
+    private Reservation seedReservation() {
+        return reservationRepository.save(new Reservation(seedSlot().getId(), requester));
+    }
+
+    private void seedReservations(int count) {
+        for (int i = 0; i < count; i++) {
+            seedReservation();
+        }
+    }
+
+    private long userLoads() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+
+    private long statementsToListAll() {
+        statistics.clear();
+        List<ReservationResponse> responses = reservationService.listReservations(null, KeysetCursor.MAX_LIMIT).items();
+        assertThat(responses).allSatisfy(r -> {
+            assertThat(r.slot()).isNotNull();
+            assertThat(r.slot().owner()).isNotNull();
+            assertThat(r.user()).isNotNull();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    public void listingReservations_usesConstantNumberOfStatements() {
+        seedReservations(5);
+        long small = statementsToListAll();
+
+        seedReservations(95);
+        long large = statementsToListAll();
+
+        assertThat(large).isEqualTo(small);
+        // reservation, requester, slot and owner all come from one projected select
+        assertThat(large).isEqualTo(1);
+    }
+
+    // Scans of the named index while listing, read from the transaction's own statistics.
+    // Sequential scans are switched off: on a handful of rows they are cheaper, and the point is
+    // whether the query shape lets the planner use the index at all.
+    private long indexScans(String index, Runnable listing) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            listing.run();
+            return jdbcTemplate.queryForObject("SELECT pg_stat_get_xact_numscans(?::regclass)", Long.class, index);
+        });
+    }
+
+    private List<ReservationResponse> listFor(User user, ReservationDirection direction, KeysetCursor after) {
+        return reservationService.listReservationsForUser(user.getId(), direction, after, 2).items();
+    }
+
+    @Test
+    public void listReservationsForUser_eachSideUsesItsIndex() {
+        seedReservations(3);
+        KeysetCursor cursor = reservationService.listReservationsForUser(owner.getId(), ReservationDirection.BOTH, null, 2).next();
+
+        assertThat(indexScans("idx_reservations_requester_created", () -> listFor(requester, ReservationDirection.OUTGOING, null))).isPositive();
+        // The incoming side starts from the owner's slots and looks their reservations up by slot
+        assertThat(indexScans("idx_reservations_slot_status", () -> listFor(owner, ReservationDirection.INCOMING, null))).isPositive();
+        // BOTH runs the requester side and the slot-owner side as separate branches
+        assertThat(indexScans("idx_reservations_requester_created", () -> listFor(owner, ReservationDirection.BOTH, cursor))).isPositive();
+        assertThat(indexScans("idx_reservations_slot_status", () -> listFor(owner, ReservationDirection.BOTH, cursor))).isPositive();
+    }
+
+    @Test
+    public void listReservationsForUser_bothSides_listsOwnReservationOnce() {
+        Reservation own = reservationRepository.save(new Reservation(seedSlot().getId(), owner));
+
+        List<ReservationResponse> listed = reservationService.listReservationsForUser(
+                owner.getId(), ReservationDirection.BOTH, null, KeysetCursor.MAX_LIMIT).items();
+
+        assertThat(listed).extracting(ReservationResponse::id).containsOnlyOnce(own.getId()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void createReservation_checksIdsWithoutLoadingUsers() {
+        AvailabilitySlot slot = seedSlot();
+        userCache.findById(requester.getId());
+        statistics.clear();
+
+        reservationService.createReservation(new CreateReservationRequest(requester.getId(), slot.getId()));
+
+        assertThat(userLoads()).isZero();
+        // slot existence check + insert + outbox insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void confirmReservation_comparesOwnerForeignKey() throws Exception {
+        Reservation reservation = seedReservation();
+        statistics.clear();
+
+        reservationService.confirmReservation(reservation.getId(), owner.getId());
+
+        assertThat(userLoads()).isZero();
+        // conditional update + outbox insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteReservation_byOwner_comparesForeignKeys() throws Exception {
+        Reservation reservation = seedReservation();
+        statistics.clear();
+
+        reservationService.deleteReservation(reservation.getId(), owner.getId());
+
+        assertThat(userLoads()).isZero();
+        // conditional update + outbox insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteSlot_checksOwnerWithoutLoadingIt() {
+        AvailabilitySlot slot = seedSlot();
+        statistics.clear();
+
+        slotService.deleteSlot(slot.getId(), owner.getId());
+
+        assertThat(userLoads()).isZero();
+        // slot + rejecting its live reservation + delete
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void searchFreeSlots_fetchesOwnersInTheSameSelect() {
+        seedSlot();
+        seedSlot();
+        statistics.clear();
+
+        List<AvailabilitySlotResponse> slots = slotService.search(null, null, owner.getId(), true, null, KeysetCursor.DEFAULT_LIMIT).items();
+
+        assertThat(slots).isNotEmpty().allSatisfy(s -> assertThat(s.owner().email()).isEqualTo(owner.getEmail()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
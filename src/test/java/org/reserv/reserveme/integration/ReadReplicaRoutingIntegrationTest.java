@@ -0,0 +1,114 @@
+package org.reserv.reserveme.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.reservation.ReservationService;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
+import org.reserv.reserveme.user.UserRepository;
+import org.reserv.reserveme.user.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The "replica" is the same database reached through a second pool; the pools are told apart
+// by the application_name each one sets on its connections.
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.data-source-properties.ApplicationName", () -> "reserveme-primary");
+        registry.add("app.datasource.replica.url", postgres::getJdbcUrl);
+        registry.add("app.datasource.replica.hikari.data-source-properties.ApplicationName", () -> "reserveme-replica");
+        registry.add("app.outbox.relay.interval", () -> "1h");
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Test
+    public void readOnlyTransactionsRunOnTheReplica_othersOnThePrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertThat(currentSetting(readOnly, "application_name")).isEqualTo("reserveme-replica");
+        assertThat(currentSetting(readOnly, "transaction_read_only")).isEqualTo("on");
+        assertThat(currentSetting(readWrite, "application_name")).isEqualTo("reserveme-primary");
+        assertThat(currentSetting(readWrite, "transaction_read_only")).isEqualTo("off");
+    }
+
+    @Test
+    public void serviceQueriesUseTheReplicaPool_writesStillCommit() {
+        double before = replicaAcquisitions();
+        reservationService.listBySlot(UUID.randomUUID(), null, KeysetCursor.DEFAULT_LIMIT);
+        assertThat(replicaAcquisitions()).isGreaterThan(before);
+
+        User user = userService.registerUser("replica+" + UUID.randomUUID() + "@example.com", "pass", "Replica");
+        assertThat(userRepository.findById(user.getId())).isPresent();
+    }
+
+    @Test
+    public void loginRightAfterRegistering_readsThePrimary() {
+        String email = "fresh+" + UUID.randomUUID() + "@example.com";
+        User registered = userService.registerUser(email, "pass", "Fresh");
+
+        // A lagging replica would not have the row yet, so none of these may touch it
+        double before = replicaAcquisitions();
+        assertThat(userService.authenticate(email, "pass").getId()).isEqualTo(registered.getId());
+        assertThat(userCache.findByEmail(email)).isPresent();
+        assertThat(userCache.findById(registered.getId())).isPresent();
+        assertThat(replicaAcquisitions()).isEqualTo(before);
+    }
+
+    private String currentSetting(TransactionTemplate tx, String name) {
+        return tx.execute(status -> jdbcTemplate.queryForObject("SELECT current_setting(?)", String.class, name));
+    }
+
+    private double replicaAcquisitions() {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica").timer().count();
+    }
+}
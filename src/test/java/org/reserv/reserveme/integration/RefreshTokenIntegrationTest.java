@@ -0,0 +1,136 @@
+package org.reserv.reserveme.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.reserv.reserveme.auth.RefreshToken;
+import org.reserv.reserveme.auth.RefreshTokenPurgeJob;
+import org.reserv.reserveme.auth.RefreshTokenRepository;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.auth.refresh.max-per-user=3")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RefreshTokenIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenPurgeJob purgeJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private String baseUrl() { return "http://localhost:" + port; }
+
+    private String register(String email) {
+        ResponseEntity<Map> reg = restTemplate.postForEntity(baseUrl() + "/api/auth/register",
+                Map.of("email", email, "password", "pass", "displayName", "R"), Map.class);
+        assertThat(reg.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return (String) reg.getBody().get("refreshToken");
+    }
+
+    private String login(String email) {
+        return (String) restTemplate.postForEntity(baseUrl() + "/api/auth/login",
+                Map.of("email", email, "password", "pass"), Map.class).getBody().get("refreshToken");
+    }
+
+    private ResponseEntity<Map> refresh(String token) {
+        return restTemplate.postForEntity(baseUrl() + "/api/auth/refresh", Map.of("refreshToken", token), Map.class);
+    }
+
+    @Test
+    public void refresh_rotatesTokenAndRevokesFamilyOnReuse() {
+        String first = register("rt-rotate+" + UUID.randomUUID() + "@example.com");
+
+        ResponseEntity<Map> rotated = refresh(first);
+        assertThat(rotated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rotated.getBody().get("accessToken")).isNotNull();
+        String second = (String) rotated.getBody().get("refreshToken");
+        assertThat(second).isNotEqualTo(first);
+
+        // Presenting the rotated-away token again revokes the family, including its current token
+        assertThatThrownBy(() -> refresh(first))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThatThrownBy(() -> refresh(second))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    public void refresh_replayingAnOlderGeneration_revokesTheFamily() {
+        String first = register("rt-replay+" + UUID.randomUUID() + "@example.com");
+        String second = (String) refresh(first).getBody().get("refreshToken");
+        String third = (String) refresh(second).getBody().get("refreshToken");
+        String current = (String) refresh(third).getBody().get("refreshToken");
+
+        // Three generations old: not the hash rotated away most recently
+        assertThatThrownBy(() -> refresh(first))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThatThrownBy(() -> refresh(current))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    public void login_keepsOnlyNewestFamiliesPerUser() {
+        String email = "rt-cap+" + UUID.randomUUID() + "@example.com";
+        String oldest = register(email);
+        login(email);
+        login(email);
+        String newest = login(email);
+
+        assertThatThrownBy(() -> refresh(oldest))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThat(refresh(newest).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void purge_removesExpiredTokensInBatches() {
+        User user = userRepository.save(new User("rt-purge+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER"));
+        Instant past = Instant.now().minusSeconds(60);
+        for (int i = 0; i < 2500; i++) {
+            refreshTokenRepository.save(new RefreshToken(user, UUID.randomUUID().toString().getBytes(), past));
+        }
+        refreshTokenRepository.save(new RefreshToken(user, UUID.randomUUID().toString().getBytes(), Instant.now().plusSeconds(3600)));
+
+        assertThat(purgeJob.purgeExpired()).isGreaterThanOrEqualTo(2500);
+        assertThat(refreshTokenRepository.findAll()).allSatisfy(t -> assertThat(t.getExpiresAt()).isAfter(Instant.now()));
+    }
+}
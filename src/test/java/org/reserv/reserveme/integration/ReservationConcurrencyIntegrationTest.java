@@ -0,0 +1,172 @@
+package org.reserv.reserveme.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.reserv.reserveme.reservation.AvailabilitySlot;
+import org.reserv.reserveme.reservation.AvailabilitySlotRepository;
+import org.reserv.reserveme.reservation.Reservation;
+import org.reserv.reserveme.reservation.ReservationEvent;
+import org.reserv.reserveme.reservation.ReservationRepository;
+import org.reserv.reserveme.reservation.ReservationService;
+import org.reserv.reserveme.reservation.ReservationStatus;
+import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReservationConcurrencyIntegrationTest {
+
+    private static final int BOOKERS = 16;
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void parallelBookingsOfOneSlot_exactlyOneSucceeds() throws Exception {
+        User owner = userRepository.save(new User("cc-owner+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Owner"));
+        Instant start = Instant.now().plusSeconds(3600);
+        AvailabilitySlot slot = slotRepository.save(new AvailabilitySlot(owner, start, start.plusSeconds(1800)));
+
+        List<UUID> requesters = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            requesters.add(userRepository.save(new User("cc-req" + i + "+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Req" + i)).getId());
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UUID requesterId : requesters) {
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        reservationService.createReservation(new CreateReservationRequest(requesterId, slot.getId()));
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        conflicted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(conflicted.get()).isEqualTo(BOOKERS - 1);
+        assertThat(reservationRepository.findBySlotId(slot.getId())).hasSize(1);
+    }
+
+    @Test
+    public void confirmRacingCancel_confirmsAtMostOnceAndRowMatchesWinners() throws Exception {
+        User owner = userRepository.save(new User("cc-owner+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Owner"));
+        User requester = userRepository.save(new User("cc-req+" + UUID.randomUUID() + "@example.com", "h", "ROLE_USER", "Req"));
+        Instant start = Instant.now().plusSeconds(7200);
+        AvailabilitySlot slot = slotRepository.save(new AvailabilitySlot(owner, start, start.plusSeconds(1800)));
+        UUID reservationId = reservationService.createReservation(
+                new CreateReservationRequest(requester.getId(), slot.getId())).getId();
+
+        // half the callers confirm as the owner, half cancel as the requester
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger lost = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                boolean confirm = i % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        if (confirm) {
+                            reservationService.confirmReservation(reservationId, owner.getId());
+                            confirmed.incrementAndGet();
+                        } else {
+                            reservationService.deleteReservation(reservationId, requester.getId());
+                            cancelled.incrementAndGet();
+                        }
+                    } catch (IllegalStateException | IllegalArgumentException ex) {
+                        // 409 when confirmed already or once the reservation is cancelled
+                        lost.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // A confirm may be followed by the requester cancelling it, but never by a second
+        // confirm, and the reservation can only be cancelled once
+        assertThat(confirmed.get()).isLessThanOrEqualTo(1);
+        assertThat(cancelled.get()).isLessThanOrEqualTo(1);
+        assertThat(confirmed.get() + cancelled.get() + lost.get()).isEqualTo(BOOKERS);
+        // Every winner bumped the version exactly once, and the status matches the last one
+        assertThat(reservationRepository.findBySlotId(slot.getId())).singleElement().satisfies(r -> {
+            assertThat(r.getStatus()).isEqualTo(cancelled.get() == 1 ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED);
+            assertThat(r.getVersion()).isEqualTo(confirmed.get() + cancelled.get());
+        });
+        // Exactly the winners recorded an event
+        assertThat(outboxEvents(slot.getId(), ReservationEvent.Type.CONFIRMED)).isEqualTo(confirmed.get());
+        assertThat(outboxEvents(slot.getId(), ReservationEvent.Type.CANCELLED)).isEqualTo(cancelled.get());
+    }
+
+    private int outboxEvents(UUID slotId, ReservationEvent.Type type) {
+        return jdbc.queryForObject("SELECT count(*) FROM outbox_events WHERE aggregate_id = ? AND event_type = ?",
+                Integer.class, slotId, type.eventType());
+    }
+}
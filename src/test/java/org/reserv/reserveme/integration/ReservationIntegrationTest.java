@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.*;
@@ -20,6 +21,7 @@ import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -140,5 +142,230 @@ public class ReservationIntegrationTest {
         assertThat(list1after.getStatusCode()).isEqualTo(HttpStatus.OK);
         boolean found1 = list1after.getBody().stream().anyMatch(it -> ((Map)it).get("id").toString().equals(reservationId) && ((Map)it).get("status").equals("CONFIRMED"));
         assertThat(found1).isTrue();
+
+        // user2 (the owner) deletes it: the requester sees it as rejected and the slot is free again
+        ResponseEntity<Void> rejectRes = restTemplate.exchange(baseUrl() + "/api/reservations/"+reservationId, HttpMethod.DELETE, new HttpEntity<>(h2Auth), Void.class);
+        assertThat(rejectRes.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        ResponseEntity<List> list1rejected = restTemplate.exchange(baseUrl() + "/api/reservations?userId="+u1id, HttpMethod.GET, new HttpEntity<>(h1Auth), List.class);
+        boolean rejected = list1rejected.getBody().stream().anyMatch(it -> ((Map)it).get("id").toString().equals(reservationId) && ((Map)it).get("status").equals("REJECTED"));
+        assertThat(rejected).isTrue();
+        assertThatThrownBy(() -> restTemplate.exchange(baseUrl() + "/api/reservations/"+reservationId, HttpMethod.DELETE, new HttpEntity<>(h1Auth), Void.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        ResponseEntity<Map> rebook = restTemplate.postForEntity(baseUrl() + "/api/reservations", resReq, Map.class);
+        assertThat(rebook.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    public void reservationList_pagesWithCursorAndDirection() throws Exception {
+        var requester = registerAndLogin("it-page1+" + UUID.randomUUID() + "@example.com", "Page Requester");
+        var owner = registerAndLogin("it-page2+" + UUID.randomUUID() + "@example.com", "Page Owner");
+        String requesterToken = (String) requester.get("token");
+        String ownerToken = (String) owner.get("token");
+        String ownerId = ((Map) owner.get("me")).get("id").toString();
+
+        HttpHeaders ownerHeaders = new HttpHeaders(); ownerHeaders.setBearerAuth(ownerToken); ownerHeaders.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders requesterHeaders = new HttpHeaders(); requesterHeaders.setBearerAuth(requesterToken); requesterHeaders.setContentType(MediaType.APPLICATION_JSON);
+        Set<String> created = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String,Object> slotPayload = new HashMap<>();
+            slotPayload.put("startTime", Instant.now().plusSeconds(3600L * (i + 1)).toString());
+            slotPayload.put("endTime", Instant.now().plusSeconds(3600L * (i + 1) + 1800).toString());
+            ResponseEntity<Map> slotRes = restTemplate.postForEntity(baseUrl() + "/api/slots", new HttpEntity<>(slotPayload, ownerHeaders), Map.class);
+            Map<String,Object> resPayload = new HashMap<>();
+            resPayload.put("slotId", slotRes.getBody().get("id").toString());
+            ResponseEntity<Map> resCreate = restTemplate.postForEntity(baseUrl() + "/api/reservations", new HttpEntity<>(resPayload, requesterHeaders), Map.class);
+            created.add(resCreate.getBody().get("id").toString());
+        }
+
+        HttpEntity<Void> ownerGet = new HttpEntity<>(ownerHeaders);
+        ResponseEntity<List> first = restTemplate.exchange(baseUrl() + "/api/reservations?userId=" + ownerId + "&direction=INCOMING&limit=2", HttpMethod.GET, ownerGet, List.class);
+        assertThat(first.getBody()).hasSize(2);
+        String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List> second = restTemplate.exchange(baseUrl() + "/api/reservations?userId=" + ownerId + "&direction=INCOMING&limit=2&cursor=" + cursor, HttpMethod.GET, ownerGet, List.class);
+        assertThat(second.getBody()).hasSize(1);
+        assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isNull();
+
+        Set<String> seen = new HashSet<>();
+        for (Object it : first.getBody()) seen.add(((Map) it).get("id").toString());
+        for (Object it : second.getBody()) seen.add(((Map) it).get("id").toString());
+        assertThat(seen).isEqualTo(created);
+
+        ResponseEntity<List> outgoing = restTemplate.exchange(baseUrl() + "/api/reservations?userId=" + ownerId + "&direction=OUTGOING", HttpMethod.GET, ownerGet, List.class);
+        assertThat(outgoing.getBody()).isEmpty();
+
+        // byRequester pages the same way instead of stopping at the default limit
+        String requesterId = ((Map) requester.get("me")).get("id").toString();
+        HttpEntity<Void> requesterGet = new HttpEntity<>(requesterHeaders);
+        ResponseEntity<List> byRequester = restTemplate.exchange(baseUrl() + "/api/reservations/byRequester?requesterId=" + requesterId + "&limit=2", HttpMethod.GET, requesterGet, List.class);
+        assertThat(byRequester.getBody()).hasSize(2);
+        String requesterCursor = byRequester.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(requesterCursor).isNotBlank();
+        ResponseEntity<List> byRequesterRest = restTemplate.exchange(baseUrl() + "/api/reservations/byRequester?requesterId=" + requesterId + "&limit=2&cursor=" + requesterCursor, HttpMethod.GET, requesterGet, List.class);
+        assertThat(byRequesterRest.getBody()).hasSize(1);
+        assertThat(byRequesterRest.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    public void slotSearch_filtersByRangeOwnerAndFree() throws Exception {
+        var owner = registerAndLogin("it-search1+" + UUID.randomUUID() + "@example.com", "Search Owner");
+        var requester = registerAndLogin("it-search2+" + UUID.randomUUID() + "@example.com", "Search Requester");
+        String ownerId = ((Map) owner.get("me")).get("id").toString();
+        HttpHeaders ownerHeaders = new HttpHeaders(); ownerHeaders.setBearerAuth((String) owner.get("token")); ownerHeaders.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders requesterHeaders = new HttpHeaders(); requesterHeaders.setBearerAuth((String) requester.get("token")); requesterHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        Instant base = Instant.now().plusSeconds(86_400).truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
+        List<String> slotIds = new ArrayList<>();
+        for (int day = 0; day < 3; day++) {
+            Map<String,Object> slotPayload = new HashMap<>();
+            slotPayload.put("startTime", base.plusSeconds(86_400L * day).toString());
+            slotPayload.put("endTime", base.plusSeconds(86_400L * day + 3600).toString());
+            ResponseEntity<Map> slotRes = restTemplate.postForEntity(baseUrl() + "/api/slots", new HttpEntity<>(slotPayload, ownerHeaders), Map.class);
+            slotIds.add(slotRes.getBody().get("id").toString());
+        }
+        Map<String,Object> resPayload = new HashMap<>();
+        resPayload.put("slotId", slotIds.get(0));
+        restTemplate.postForEntity(baseUrl() + "/api/reservations", new HttpEntity<>(resPayload, requesterHeaders), Map.class);
+
+        HttpEntity<Void> get = new HttpEntity<>(ownerHeaders);
+        String range = "from=" + base.minusSeconds(60) + "&to=" + base.plusSeconds(86_400L + 60) + "&ownerId=" + ownerId;
+        ResponseEntity<List> inRange = restTemplate.exchange(baseUrl() + "/api/slots?" + range, HttpMethod.GET, get, List.class);
+        assertThat(inRange.getBody()).extracting(it -> ((Map) it).get("id").toString()).containsExactly(slotIds.get(0), slotIds.get(1));
+
+        ResponseEntity<List> free = restTemplate.exchange(baseUrl() + "/api/slots?" + range + "&onlyFree=true", HttpMethod.GET, get, List.class);
+        assertThat(free.getBody()).extracting(it -> ((Map) it).get("id").toString()).containsExactly(slotIds.get(1));
+
+        // Filtered searches page by start time like every other list
+        String allFree = "ownerId=" + ownerId + "&onlyFree=true&limit=1";
+        ResponseEntity<List> firstFree = restTemplate.exchange(baseUrl() + "/api/slots?" + allFree, HttpMethod.GET, get, List.class);
+        assertThat(firstFree.getBody()).extracting(it -> ((Map) it).get("id").toString()).containsExactly(slotIds.get(1));
+        String freeCursor = firstFree.getHeaders().getFirst("X-Next-Cursor");
+        ResponseEntity<List> nextFree = restTemplate.exchange(baseUrl() + "/api/slots?" + allFree + "&cursor=" + freeCursor, HttpMethod.GET, get, List.class);
+        assertThat(nextFree.getBody()).extracting(it -> ((Map) it).get("id").toString()).containsExactly(slotIds.get(2));
+
+        // A cursor only continues the listing it came from
+        assertThatThrownBy(() -> restTemplate.exchange(baseUrl() + "/api/slots?limit=1&cursor=" + freeCursor, HttpMethod.GET, get, List.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> restTemplate.exchange(baseUrl() + "/api/slots/byOwner?ownerId=" + ownerId + "&cursor=" + freeCursor, HttpMethod.GET, get, List.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        ResponseEntity<List> bySlot = restTemplate.exchange(baseUrl() + "/api/reservations/bySlot?slotId=" + slotIds.get(0) + "&limit=1", HttpMethod.GET, get, List.class);
+        assertThat(bySlot.getBody()).hasSize(1);
+        String slotCursor = bySlot.getHeaders().getFirst("X-Next-Cursor");
+        ResponseEntity<List> bySlotRest = restTemplate.exchange(baseUrl() + "/api/reservations/bySlot?slotId=" + slotIds.get(0) + "&limit=1&cursor=" + slotCursor, HttpMethod.GET, get, List.class);
+        assertThat(bySlotRest.getBody()).isEmpty();
+        assertThat(bySlotRest.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    public void createSlot_overlappingOwnSlot_returnsConflict() throws Exception {
+        var owner = registerAndLogin("it-overlap+" + UUID.randomUUID() + "@example.com", "Overlap Owner");
+        HttpHeaders headers = new HttpHeaders(); headers.setBearerAuth((String) owner.get("token")); headers.setContentType(MediaType.APPLICATION_JSON);
+        Instant start = Instant.now().plusSeconds(7 * 86_400);
+
+        Map<String,Object> first = new HashMap<>();
+        first.put("startTime", start.toString());
+        first.put("endTime", start.plusSeconds(3600).toString());
+        assertThat(restTemplate.postForEntity(baseUrl() + "/api/slots", new HttpEntity<>(first, headers), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+
+        Map<String,Object> adjacent = new HashMap<>();
+        adjacent.put("startTime", start.plusSeconds(3600).toString());
+        adjacent.put("endTime", start.plusSeconds(7200).toString());
+        assertThat(restTemplate.postForEntity(baseUrl() + "/api/slots", new HttpEntity<>(adjacent, headers), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+
+        Map<String,Object> overlapping = new HashMap<>();
+        overlapping.put("startTime", start.plusSeconds(1800).toString());
+        overlapping.put("endTime", start.plusSeconds(5400).toString());
+        assertThatThrownBy(() -> restTemplate.postForEntity(baseUrl() + "/api/slots", new HttpEntity<>(overlapping, headers), Map.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    public void bulkCreateSlots_weeklyRecurrence_createsAllOccurrences() throws Exception {
+        var owner = registerAndLogin("it-bulk+" + UUID.randomUUID() + "@example.com", "Bulk Owner");
+        String ownerId = ((Map) owner.get("me")).get("id").toString();
+        HttpHeaders headers = new HttpHeaders(); headers.setBearerAuth((String) owner.get("token")); headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Instant first = java.time.ZonedDateTime.of(2030, 1, 7, 10, 0, 0, 0, java.time.ZoneId.of("Europe/Berlin")).toInstant();
+        Map<String,Object> recurrence = new HashMap<>();
+        recurrence.put("frequency", "WEEKLY");
+        recurrence.put("startTime", first.toString());
+        recurrence.put("endTime", first.plusSeconds(3600).toString());
+        recurrence.put("count", 1000);
+        recurrence.put("timeZone", "Europe/Berlin");
+        Map<String,Object> payload = new HashMap<>();
+        payload.put("recurrence", recurrence);
+
+        ResponseEntity<Map> created = restTemplate.postForEntity(baseUrl() + "/api/slots/bulk", new HttpEntity<>(payload, headers), Map.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat((List) created.getBody().get("ids")).hasSize(1000);
+
+        // Local start time stays at 10:00 across daylight-saving changes
+        List<Object> slots = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = baseUrl() + "/api/slots/byOwner?ownerId=" + ownerId + "&limit=500" + (cursor == null ? "" : "&cursor=" + cursor);
+            ResponseEntity<List> page = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), List.class);
+            slots.addAll(page.getBody());
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+        } while (cursor != null);
+        assertThat(slots).hasSize(1000).allSatisfy(it -> {
+            Instant start = Instant.parse(((Map) it).get("startTime").toString());
+            assertThat(start.atZone(java.time.ZoneId.of("Europe/Berlin")).getHour()).isEqualTo(10);
+        });
+
+        // A second batch overlapping the first is rejected as a whole
+        Map<String,Object> window = new HashMap<>();
+        window.put("startTime", first.minusSeconds(7200).toString());
+        window.put("endTime", first.minusSeconds(3600).toString());
+        Map<String,Object> clash = new HashMap<>();
+        clash.put("startTime", first.plusSeconds(1800).toString());
+        clash.put("endTime", first.plusSeconds(5400).toString());
+        Map<String,Object> overlapping = new HashMap<>();
+        overlapping.put("slots", List.of(window, clash));
+        assertThatThrownBy(() -> restTemplate.postForEntity(baseUrl() + "/api/slots/bulk", new HttpEntity<>(overlapping, headers), Map.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    public void slotList_pagesWithCursorAndExportsNdjson() throws Exception {
+        var owner = registerAndLogin("it-page+" + UUID.randomUUID() + "@example.com", "Page Owner");
+        HttpHeaders headers = new HttpHeaders(); headers.setBearerAuth((String) owner.get("token")); headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Instant base = Instant.parse("2031-03-01T09:00:00Z");
+        List<Map<String,Object>> windows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String,Object> window = new HashMap<>();
+            window.put("startTime", base.plusSeconds(7200L * i).toString());
+            window.put("endTime", base.plusSeconds(7200L * i + 3600).toString());
+            windows.add(window);
+        }
+        ResponseEntity<Map> created = restTemplate.postForEntity(baseUrl() + "/api/slots/bulk", new HttpEntity<>(Map.of("slots", windows), headers), Map.class);
+        List<String> createdIds = ((List<?>) created.getBody().get("ids")).stream().map(Object::toString).toList();
+
+        // Walk every page; each row shows up exactly once
+        HttpEntity<Void> get = new HttpEntity<>(headers);
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = baseUrl() + "/api/slots?limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            ResponseEntity<List> page = restTemplate.exchange(url, HttpMethod.GET, get, List.class);
+            assertThat(page.getBody()).hasSizeLessThanOrEqualTo(2);
+            page.getBody().forEach(it -> seen.add(((Map) it).get("id").toString()));
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+        } while (cursor != null);
+        assertThat(seen).doesNotHaveDuplicates().containsAll(createdIds);
+
+        ResponseEntity<String> export = restTemplate.exchange(baseUrl() + "/api/slots/export", HttpMethod.GET, get, String.class);
+        assertThat(export.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        List<String> lines = export.getBody().lines().toList();
+        assertThat(lines).hasSize(seen.size());
+        assertThat(createdIds).allSatisfy(id -> assertThat(lines).anyMatch(line -> line.contains(id)));
+
+        assertThatThrownBy(() -> restTemplate.exchange(baseUrl() + "/api/slots?cursor=not-a-cursor", HttpMethod.GET, get, List.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
     }
 }
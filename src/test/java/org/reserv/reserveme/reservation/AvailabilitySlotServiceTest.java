@@ -0,0 +1,115 @@
+package org.reserv.reserveme.reservation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.reservation.dto.BulkSlotRequest;
+import org.reserv.reserveme.user.UserCache;
+import org.reserv.reserveme.user.UserRepository;
+import org.reserv.reserveme.user.dto.UserResponse;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilitySlotServiceTest {
+
+    @Mock
+    private AvailabilitySlotRepository slotRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SlotIntervalCache intervalCache;
+
+    @Mock
+    private OwnerSlotIndex overlapIndex;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private AvailabilitySlotService slotService;
+
+    @Test
+    void createSlots_windowWithoutStart_isRejectedAsBadRequest() {
+        UUID ownerId = UUID.randomUUID();
+        when(userCache.exists(ownerId)).thenReturn(true);
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS);
+        BulkSlotRequest request = new BulkSlotRequest(Arrays.asList(
+                new BulkSlotRequest.Window(start, start.plus(30, ChronoUnit.MINUTES)),
+                new BulkSlotRequest.Window(null, start.plus(2, ChronoUnit.HOURS))), null);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> slotService.createSlots(ownerId, request));
+
+        assertThat(ex.getMessage()).isEqualTo("Invalid start/end time");
+        verifyNoInteractions(slotRepository);
+    }
+
+    @Test
+    void createSlots_nullWindow_isRejectedAsBadRequest() {
+        UUID ownerId = UUID.randomUUID();
+        when(userCache.exists(ownerId)).thenReturn(true);
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS);
+        BulkSlotRequest request = new BulkSlotRequest(Arrays.asList(
+                new BulkSlotRequest.Window(start, start.plus(30, ChronoUnit.MINUTES)), null), null);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> slotService.createSlots(ownerId, request));
+
+        assertThat(ex.getMessage()).isEqualTo("Invalid start/end time");
+    }
+
+    @Test
+    void search_servedFromCache_pagesInStartTimeOrder() {
+        Instant from = Instant.parse("2031-01-01T00:00:00Z");
+        UserResponse owner = new UserResponse(UUID.randomUUID(), "o@example.com", "Owner", from);
+        List<AvailabilitySlotResponse> slots = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Instant start = from.plus(i, ChronoUnit.HOURS);
+            slots.add(new AvailabilitySlotResponse(UUID.randomUUID(), owner, start, start.plus(30, ChronoUnit.MINUTES), from));
+        }
+        // Two slots starting together are ordered by id, as Postgres orders uuids
+        Instant shared = slots.get(1).startTime();
+        slots.add(new AvailabilitySlotResponse(new UUID(-1L, 0L), owner, shared, shared.plus(30, ChronoUnit.MINUTES), from));
+        slots.add(new AvailabilitySlotResponse(new UUID(1L, 0L), owner, shared, shared.plus(30, ChronoUnit.MINUTES), from));
+        when(intervalCache.overlapping(from, null, null)).thenAnswer(inv -> Optional.of(new ArrayList<>(slots.reversed())));
+
+        List<AvailabilitySlotResponse> seen = new ArrayList<>();
+        CursorPage<AvailabilitySlotResponse> page = slotService.search(from, null, null, false, null, 2);
+        seen.addAll(page.items());
+        while (page.next() != null) {
+            page = slotService.search(from, null, null, false, page.next(), 2);
+            seen.addAll(page.items());
+        }
+
+        assertThat(seen).hasSize(slots.size()).doesNotHaveDuplicates()
+                .isSortedAccordingTo(AvailabilitySlotService.SEARCH_ORDER);
+        List<UUID> ids = seen.stream().map(AvailabilitySlotResponse::id).toList();
+        assertThat(ids.indexOf(new UUID(1L, 0L))).isLessThan(ids.indexOf(new UUID(-1L, 0L)));
+        verifyNoInteractions(slotRepository);
+    }
+}
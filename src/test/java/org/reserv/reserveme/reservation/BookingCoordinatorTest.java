@@ -0,0 +1,102 @@
+package org.reserv.reserveme.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCoordinatorTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private Reservation reservation;
+
+    private UUID slotId;
+
+    @BeforeEach
+    void setup() {
+        slotId = UUID.randomUUID();
+    }
+
+    @Test
+    void book_afterSlotTaken_rejectsWithoutHittingService() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, true, 8, Duration.ofMinutes(1));
+        when(reservationService.createReservation(any())).thenReturn(reservation);
+
+        assertThat(coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId))).isSameAs(reservation);
+        assertThrows(IllegalStateException.class, () -> coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId)));
+
+        verify(reservationService, times(1)).createReservation(any());
+    }
+
+    @Test
+    void book_conflictFromDatabase_marksSlotTaken() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, true, 8, Duration.ofMinutes(1));
+        when(reservationService.createReservation(any())).thenThrow(new SlotAlreadyReservedException(slotId));
+
+        assertThrows(SlotAlreadyReservedException.class, () -> coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId)));
+        assertThrows(SlotAlreadyReservedException.class, () -> coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId)));
+
+        verify(reservationService, times(1)).createReservation(any());
+    }
+
+    @Test
+    void book_otherConflict_doesNotMarkSlotTaken() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, true, 8, Duration.ofMinutes(1));
+        when(reservationService.createReservation(any()))
+                .thenThrow(new IllegalStateException("Requester is suspended"))
+                .thenReturn(reservation);
+
+        assertThrows(IllegalStateException.class, () -> coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId)));
+        assertThat(coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId))).isSameAs(reservation);
+
+        verify(reservationService, times(2)).createReservation(any());
+    }
+
+    @Test
+    void release_allowsRebooking() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, true, 8, Duration.ofMinutes(1));
+        when(reservationService.createReservation(any())).thenReturn(reservation);
+
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+        coordinator.release(slotId);
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+
+        verify(reservationService, times(2)).createReservation(any());
+    }
+
+    @Test
+    void book_expiredMarker_goesBackToService() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, true, 8, Duration.ZERO);
+        when(reservationService.createReservation(any())).thenReturn(reservation);
+
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+
+        verify(reservationService, times(2)).createReservation(any());
+    }
+
+    @Test
+    void book_disabled_delegatesEveryCall() {
+        BookingCoordinator coordinator = new BookingCoordinator(reservationService, false, 8, Duration.ofMinutes(1));
+        when(reservationService.createReservation(any())).thenReturn(reservation);
+
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+        coordinator.book(new CreateReservationRequest(UUID.randomUUID(), slotId));
+
+        verify(reservationService, times(2)).createReservation(any());
+    }
+}
@@ -0,0 +1,77 @@
+package org.reserv.reserveme.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.user.dto.UserResponse;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerSlotIndexTest {
+
+    @Mock
+    private AvailabilitySlotRepository slotRepository;
+
+    private OwnerSlotIndex index;
+    private UUID ownerId;
+
+    private static Instant t(long minutes) {
+        return Instant.parse("2026-01-01T00:00:00Z").plusSeconds(minutes * 60);
+    }
+
+    @BeforeEach
+    void setup() {
+        index = new OwnerSlotIndex(slotRepository, true, 100);
+        ownerId = UUID.randomUUID();
+    }
+
+    @Test
+    void overlaps_checksNeighboursOnBothSides() {
+        when(slotRepository.findIntervalsByOwnerId(ownerId)).thenReturn(List.of(
+                new SlotInterval(UUID.randomUUID(), t(60), t(120)),
+                new SlotInterval(UUID.randomUUID(), t(180), t(240))));
+
+        assertThat(index.overlaps(ownerId, t(0), t(60))).isFalse();
+        assertThat(index.overlaps(ownerId, t(120), t(180))).isFalse();
+        assertThat(index.overlaps(ownerId, t(90), t(100))).isTrue();
+        assertThat(index.overlaps(ownerId, t(30), t(61))).isTrue();
+        assertThat(index.overlaps(ownerId, t(119), t(181))).isTrue();
+        assertThat(index.overlaps(ownerId, t(60), t(120))).isTrue();
+        assertThat(index.overlaps(ownerId, t(0), t(300))).isTrue();
+
+        verify(slotRepository, times(1)).findIntervalsByOwnerId(ownerId);
+    }
+
+    @Test
+    void committedEvents_keepLoadedOwnerCurrent() {
+        when(slotRepository.findIntervalsByOwnerId(ownerId)).thenReturn(List.of());
+        assertThat(index.overlaps(ownerId, t(0), t(60))).isFalse();
+
+        UUID slotId = UUID.randomUUID();
+        var owner = new UserResponse(ownerId, "o@example.com", "Owner", t(0));
+        index.onSlotEvent(SlotEvent.created(new AvailabilitySlotResponse(slotId, owner, t(0), t(60), t(0))));
+        assertThat(index.overlaps(ownerId, t(30), t(90))).isTrue();
+
+        index.onSlotEvent(SlotEvent.deleted(slotId, ownerId));
+        assertThat(index.overlaps(ownerId, t(30), t(90))).isFalse();
+    }
+
+    @Test
+    void invalidate_reloadsFromDatabase() {
+        when(slotRepository.findIntervalsByOwnerId(ownerId)).thenReturn(List.of());
+        index.overlaps(ownerId, t(0), t(60));
+        index.invalidate(ownerId);
+        index.overlaps(ownerId, t(0), t(60));
+
+        verify(slotRepository, times(2)).findIntervalsByOwnerId(ownerId);
+    }
+}
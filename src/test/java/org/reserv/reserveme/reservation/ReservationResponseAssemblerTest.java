@@ -0,0 +1,93 @@
+package org.reserv.reserveme.reservation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
+import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationResponseAssemblerTest {
+
+    @Mock
+    private AvailabilitySlotRepository slotRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private ReservationResponseAssembler assembler;
+
+    private static void setId(Object o, UUID id) throws Exception {
+        Field f = o.getClass().getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(o, id);
+    }
+
+    private List<Reservation> reservations(int count, List<AvailabilitySlot> slotsOut) throws Exception {
+        User owner = new User("o@example.com", "h", "ROLE_USER", "Owner");
+        setId(owner, UUID.randomUUID());
+        User requester = new User("r@example.com", "h", "ROLE_USER", "Requester");
+        setId(requester, UUID.randomUUID());
+
+        List<Reservation> out = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AvailabilitySlot slot = new AvailabilitySlot(owner, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
+            setId(slot, UUID.randomUUID());
+            slotsOut.add(slot);
+            Reservation r = new Reservation(slot.getId(), requester);
+            setId(r, UUID.randomUUID());
+            out.add(r);
+        }
+        return out;
+    }
+
+    @Test
+    void toResponses_loadsSlotsOnce_regardlessOfReservationCount() throws Exception {
+        for (int count : new int[]{1, 50, 500}) {
+            reset(slotRepository);
+            List<AvailabilitySlot> slots = new ArrayList<>();
+            List<Reservation> rs = reservations(count, slots);
+            when(slotRepository.findAllWithOwnerByIdIn(anyCollection())).thenReturn(slots);
+
+            List<ReservationResponse> responses = assembler.toResponses(rs);
+
+            assertThat(responses).hasSize(count);
+            assertThat(responses).allSatisfy(resp -> assertThat(resp.slot()).isNotNull());
+            verify(slotRepository, times(1)).findAllWithOwnerByIdIn(anyCollection());
+            verify(slotRepository, never()).findById(any());
+        }
+    }
+
+    @Test
+    void toResponses_missingSlot_rendersNullSlot() throws Exception {
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        List<Reservation> rs = reservations(1, slots);
+        when(slotRepository.findAllWithOwnerByIdIn(anyCollection())).thenReturn(List.of());
+
+        ReservationResponse resp = assembler.toResponse(rs.get(0));
+
+        assertThat(resp.slot()).isNull();
+        assertThat(resp.user().email()).isEqualTo("r@example.com");
+    }
+
+    @Test
+    void toResponses_empty_skipsQuery() {
+        assertThat(assembler.toResponses(List.of())).isEmpty();
+        verifyNoInteractions(slotRepository);
+    }
+}
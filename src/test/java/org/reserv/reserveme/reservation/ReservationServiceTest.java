@@ -7,11 +7,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.reserv.reserveme.common.CursorPage;
+import org.reserv.reserveme.common.KeysetCursor;
+import org.reserv.reserveme.outbox.Outbox;
 import org.reserv.reserveme.reservation.dto.CreateReservationRequest;
+import org.reserv.reserveme.reservation.dto.ReservationResponse;
 import org.reserv.reserveme.user.User;
+import org.reserv.reserveme.user.UserCache;
 import org.reserv.reserveme.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.lang.reflect.Field;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +31,9 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,16 +48,27 @@ class ReservationServiceTest {
     @Mock
     private AvailabilitySlotRepository slotRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private ReservationService reservationService;
 
     private UUID userId;
     private UUID slotId;
+    private UUID ownerOfSlot;
 
     @BeforeEach
     void setup() {
         userId = UUID.randomUUID();
         slotId = UUID.randomUUID();
+        ownerOfSlot = UUID.randomUUID();
     }
 
     private static void setId(Object o, UUID id) throws Exception {
@@ -52,32 +77,41 @@ class ReservationServiceTest {
         f.set(o, id);
     }
 
+    private static void setStatus(Reservation r, ReservationStatus status) throws Exception {
+        Field f = Reservation.class.getDeclaredField("status");
+        f.setAccessible(true);
+        f.set(r, status);
+    }
+
     @Test
     void createReservation_success() throws Exception {
         // Arrange
         CreateReservationRequest req = new CreateReservationRequest(userId, slotId);
         User user = new User("u@example.com", "passhash", "ROLE_USER", "User");
         setId(user, userId);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
-        AvailabilitySlot slot = new AvailabilitySlot(user, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
-        setId(slot, slotId);
-        when(slotRepository.findById(slotId)).thenReturn(Optional.of(slot));
-        when(reservationRepository.findBySlotId(slotId)).thenReturn(List.of());
+        when(userCache.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(slotRepository.findOwnerIdById(slotId)).thenReturn(Optional.of(ownerOfSlot));
 
         // capture saved reservation
         ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
-        when(reservationRepository.save(captor.capture())).thenAnswer(i -> i.getArgument(0));
+        when(reservationRepository.saveAndFlush(captor.capture())).thenAnswer(i -> i.getArgument(0));
 
         // Act
         Reservation saved = reservationService.createReservation(req);
 
         // Assert
-        verify(reservationRepository, times(1)).save(any());
+        verify(reservationRepository, times(1)).saveAndFlush(any());
+        verify(reservationRepository, never()).findBySlotId(any());
+        verify(userRepository, never()).findById(any());
         assertThat(saved.getSlotId()).isEqualTo(slotId);
         assertThat(saved.getRequester().getEmail()).isEqualTo("u@example.com");
-        assertThat(saved.getStatus()).isEqualTo("ACTIVE");
+        assertThat(saved.getStatus()).isEqualTo(ReservationStatus.ACTIVE);
         assertThat(saved.getCreatedAt()).isNotNull();
+        ArgumentCaptor<ReservationEvent> event = ArgumentCaptor.forClass(ReservationEvent.class);
+        verify(outbox).append(eq(slotId), eq("reservation.created"), event.capture());
+        assertThat(event.getValue().requesterId()).isEqualTo(userId);
+        verify(events).publishEvent(SlotEvent.reserved(slotId, ownerOfSlot));
     }
 
     @Test
@@ -85,98 +119,191 @@ class ReservationServiceTest {
         CreateReservationRequest req = new CreateReservationRequest(userId, slotId);
         User user = new User("u@example.com", "passhash", "ROLE_USER", "User");
         setId(user, userId);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        AvailabilitySlot slot = new AvailabilitySlot(user, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
-        setId(slot, slotId);
-        when(slotRepository.findById(slotId)).thenReturn(Optional.of(slot));
-        Reservation existing = new Reservation(slotId, user, "ACTIVE");
-        when(reservationRepository.findBySlotId(slotId)).thenReturn(List.of(existing));
-
-        assertThrows(IllegalStateException.class, () -> reservationService.createReservation(req));
+        when(userCache.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(slotRepository.findOwnerIdById(slotId)).thenReturn(Optional.of(ownerOfSlot));
+        var violation = new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                ReservationService.ACTIVE_SLOT_CONSTRAINT);
+        when(reservationRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key", violation));
+
+        assertThrows(SlotAlreadyReservedException.class, () -> reservationService.createReservation(req));
+        verify(outbox, never()).append(any(), any(), any());
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    void createReservation_otherConstraintViolation_propagates() throws Exception {
+        CreateReservationRequest req = new CreateReservationRequest(userId, slotId);
+        User user = new User("u@example.com", "passhash", "ROLE_USER", "User");
+        setId(user, userId);
+        when(userCache.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(slotRepository.findOwnerIdById(slotId)).thenReturn(Optional.of(ownerOfSlot));
+        when(reservationRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("fk violation"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> reservationService.createReservation(req));
     }
 
     @Test
     void confirmReservation_success() throws Exception {
-        // Arrange existing reservation
         User requester = new User("r@example.com", "h", "ROLE_USER", "Requester");
-        UUID requesterId = UUID.randomUUID();
-        setId(requester, requesterId);
+        setId(requester, UUID.randomUUID());
         UUID resId = UUID.randomUUID();
-        Reservation res = new Reservation(slotId, requester, "ACTIVE");
+        Reservation res = new Reservation(slotId, requester);
         setId(res, resId);
-        when(reservationRepository.findById(resId)).thenReturn(Optional.of(res));
-
-        User owner = new User("o@example.com", "h", "ROLE_USER", "Owner");
+        setStatus(res, ReservationStatus.CONFIRMED);
         UUID ownerId = UUID.randomUUID();
-        setId(owner, ownerId);
-        AvailabilitySlot slot = new AvailabilitySlot(owner, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
-        setId(slot, slotId);
-        when(slotRepository.findById(res.getSlotId())).thenReturn(Optional.of(slot));
-        when(reservationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(reservationRepository.transitionAsSlotOwner(resId, ownerId, List.of(ReservationStatus.ACTIVE.code()),
+                ReservationStatus.CONFIRMED.code())).thenReturn(Optional.of(res));
 
         // Act
         Reservation confirmed = reservationService.confirmReservation(resId, ownerId);
 
-        // Assert
-        assertThat(confirmed.getStatus()).isEqualTo("CONFIRMED");
-        verify(reservationRepository, times(1)).save(res);
+        // Assert: one conditional UPDATE, no load-modify-save
+        assertThat(confirmed.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        verify(reservationRepository, never()).findById(any());
+        verify(reservationRepository, never()).save(any());
+        verify(outbox).append(eq(slotId), eq("reservation.confirmed"), any(ReservationEvent.class));
+        verify(events).publishEvent(SlotEvent.confirmed(slotId, ownerId));
     }
 
     @Test
-    void deleteReservation_byOwner_allowed() throws Exception {
+    void confirmReservation_alreadyConfirmed_conflicts() throws Exception {
+        User requester = new User("r@example.com", "h", "ROLE_USER", "Requester");
+        setId(requester, UUID.randomUUID());
+        UUID resId = UUID.randomUUID();
+        Reservation res = new Reservation(slotId, requester);
+        setId(res, resId);
+        setStatus(res, ReservationStatus.CONFIRMED);
+        UUID ownerId = UUID.randomUUID();
+        when(reservationRepository.transitionAsSlotOwner(eq(resId), eq(ownerId), any(), anyShort())).thenReturn(Optional.empty());
+        when(reservationRepository.findById(resId)).thenReturn(Optional.of(res));
+        when(slotRepository.findOwnerIdById(slotId)).thenReturn(Optional.of(ownerId));
+
+        assertThrows(IllegalStateException.class, () -> reservationService.confirmReservation(resId, ownerId));
+        verify(outbox, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void confirmReservation_notSlotOwner_denied() throws Exception {
         User requester = new User("r@example.com", "h", "ROLE_USER", "Requester");
         UUID requesterId = UUID.randomUUID();
         setId(requester, requesterId);
         UUID resId = UUID.randomUUID();
-        Reservation res = new Reservation(slotId, requester, "ACTIVE");
+        Reservation res = new Reservation(slotId, requester);
         setId(res, resId);
+        when(reservationRepository.transitionAsSlotOwner(eq(resId), eq(requesterId), any(), anyShort())).thenReturn(Optional.empty());
         when(reservationRepository.findById(resId)).thenReturn(Optional.of(res));
+        when(slotRepository.findOwnerIdById(slotId)).thenReturn(Optional.of(UUID.randomUUID()));
+
+        // the requester may cancel but not confirm their own request
+        assertThrows(AccessDeniedException.class, () -> reservationService.confirmReservation(resId, requesterId));
+    }
 
-        User owner = new User("o@example.com", "h", "ROLE_USER", "Owner");
+    @Test
+    void deleteReservation_byOwner_allowed() throws Exception {
+        UUID requesterId = UUID.randomUUID();
+        UUID resId = UUID.randomUUID();
         UUID ownerId = UUID.randomUUID();
-        setId(owner, ownerId);
-        AvailabilitySlot slot = new AvailabilitySlot(owner, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
-        setId(slot, slotId);
-        when(slotRepository.findById(res.getSlotId())).thenReturn(Optional.of(slot));
+        EndedReservation ended = mock(EndedReservation.class);
+        when(ended.getId()).thenReturn(resId);
+        when(ended.getSlotId()).thenReturn(slotId);
+        when(ended.getRequesterId()).thenReturn(requesterId);
+        when(ended.status()).thenReturn(ReservationStatus.REJECTED);
+        when(ended.getSlotOwnerId()).thenReturn(ownerId);
+        when(reservationRepository.endAsRequesterOrSlotOwner(resId, ownerId, ReservationStatus.codes(ReservationStatus.LIVE),
+                ReservationStatus.CANCELLED.code(), ReservationStatus.REJECTED.code()))
+                .thenReturn(Optional.of(ended));
 
         // Act
         reservationService.deleteReservation(resId, ownerId);
 
-        // Assert
-        verify(reservationRepository, times(1)).delete(res);
+        // Assert: one conditional UPDATE, nothing loaded first
+        verify(reservationRepository, never()).findById(any());
+        verify(slotRepository, never()).findOwnerIdById(any());
+        ArgumentCaptor<ReservationEvent> event = ArgumentCaptor.forClass(ReservationEvent.class);
+        verify(outbox).append(eq(slotId), eq("reservation.rejected"), event.capture());
+        assertThat(event.getValue().status()).isEqualTo(ReservationStatus.REJECTED);
+        verify(events).publishEvent(SlotEvent.released(slotId, ownerId));
     }
 
     @Test
-    void listReservationsForUser_mergesIncomingOutgoing() throws Exception {
-        // setup a single user who is both requester of r1 and owner of slot for r2
-        User user = new User("u@example.com", "h", "ROLE_USER", "UserX");
-        UUID userIdLocal = UUID.randomUUID();
-        setId(user, userIdLocal);
-
-        UUID r1Id = UUID.randomUUID();
-        Reservation r1 = new Reservation(UUID.randomUUID(), user, "ACTIVE");
-        setId(r1, r1Id);
+    void rejectLiveReservationsOnSlot_recordsAndReleasesEachRejection() {
+        UUID requesterId = UUID.randomUUID();
+        UUID resId = UUID.randomUUID();
+        EndedReservation ended = mock(EndedReservation.class);
+        when(ended.getId()).thenReturn(resId);
+        when(ended.getSlotId()).thenReturn(slotId);
+        when(ended.getRequesterId()).thenReturn(requesterId);
+        when(ended.getSlotOwnerId()).thenReturn(ownerOfSlot);
+        when(reservationRepository.rejectLiveOnSlot(slotId, ReservationStatus.codes(ReservationStatus.LIVE),
+                ReservationStatus.REJECTED.code()))
+                .thenReturn(List.of(ended));
+
+        reservationService.rejectLiveReservationsOnSlot(slotId);
+
+        ArgumentCaptor<ReservationEvent> event = ArgumentCaptor.forClass(ReservationEvent.class);
+        verify(outbox).append(eq(slotId), eq("reservation.rejected"), event.capture());
+        assertThat(event.getValue().reservationId()).isEqualTo(resId);
+        assertThat(event.getValue().status()).isEqualTo(ReservationStatus.REJECTED);
+        verify(events).publishEvent(SlotEvent.released(slotId, ownerOfSlot));
+    }
 
-        AvailabilitySlot slot = new AvailabilitySlot(user, Instant.now().plusSeconds(3600), Instant.now().plusSeconds(7200));
-        UUID slotOwnedId = UUID.randomUUID();
-        setId(slot, slotOwnedId);
+    @Test
+    void deleteReservation_missing_isNotFound() {
+        UUID resId = UUID.randomUUID();
+        when(reservationRepository.endAsRequesterOrSlotOwner(eq(resId), eq(userId), any(), anyShort(), anyShort()))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.findById(resId)).thenReturn(Optional.empty());
 
-        UUID r2Id = UUID.randomUUID();
-        Reservation r2 = new Reservation(slotOwnedId, user, "ACTIVE");
-        setId(r2, r2Id);
+        assertThrows(IllegalArgumentException.class, () -> reservationService.deleteReservation(resId, userId));
+    }
 
-        // when querying by requesterId -> return r1
-        when(reservationRepository.findByRequesterId(userIdLocal)).thenReturn(List.of(r1));
-        // when finding slots by owner id -> return slot
-        when(slotRepository.findByOwnerId(userIdLocal)).thenReturn(List.of(slot));
-        // when querying reservations by slotId -> return r2
-        when(reservationRepository.findBySlotId(slotOwnedId)).thenReturn(List.of(r2));
+    @Test
+    void listReservationsForUser_mergesIncomingOutgoing() {
+        // a single user who is both requester of r1 and owner of the slot for r2
+        UUID userIdLocal = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        Instant now = Instant.now();
+        ReservationRow r1 = new ReservationRow(UUID.randomUUID(), ReservationStatus.ACTIVE, now,
+                userIdLocal, "u@example.com", "UserX", now,
+                UUID.randomUUID(), now.plusSeconds(3600), now.plusSeconds(7200), now,
+                otherId, "o@example.com", null, now);
+        ReservationRow r2 = new ReservationRow(UUID.randomUUID(), ReservationStatus.ACTIVE, now.plusSeconds(1),
+                otherId, "o@example.com", null, now,
+                UUID.randomUUID(), now.plusSeconds(3600), now.plusSeconds(7200), now,
+                userIdLocal, "u@example.com", "UserX", now);
+
+        // the combined incoming/outgoing query returns both reservations in one call
+        when(reservationRepository.findForUser(userIdLocal, KeysetCursor.DEFAULT_LIMIT)).thenReturn(List.of(r2, r1));
 
         // Act
-        List<Reservation> merged = reservationService.listReservationsForUser(userIdLocal);
+        List<ReservationResponse> merged = reservationService.listReservationsForUser(
+                userIdLocal, ReservationDirection.BOTH, null, KeysetCursor.DEFAULT_LIMIT).items();
+
+        // Assert results are rendered from the projected rows alone
+        assertThat(merged).extracting(ReservationResponse::id).containsExactly(r2.id(), r1.id());
+        assertThat(merged.get(0).slot().owner().id()).isEqualTo(userIdLocal);
+        assertThat(merged.get(0).user().displayName()).isEqualTo("o");
+        assertThat(merged.get(1).user().id()).isEqualTo(userIdLocal);
+        verify(reservationRepository, never()).findBySlotId(any());
+        verify(userRepository, never()).findById(any());
+        verify(slotRepository, never()).findById(any());
+    }
+
+    @Test
+    void listReservationsForUser_incomingAfterCursor_usesKeysetQuery() {
+        UUID userIdLocal = UUID.randomUUID();
+        KeysetCursor cursor = new KeysetCursor(ReservationService.USER_LISTING, Instant.parse("2026-01-01T10:00:00Z"), UUID.randomUUID());
+        when(reservationRepository.findIncomingBefore(userIdLocal, cursor.key(), cursor.id(), Limit.of(20)))
+                .thenReturn(List.of());
+
+        CursorPage<ReservationResponse> page = reservationService.listReservationsForUser(userIdLocal, ReservationDirection.INCOMING, cursor, 20);
 
-        // Assert results contains r1 and r2
-        assertThat(merged).contains(r1);
-        assertThat(merged).contains(r2);
+        assertThat(page.items()).isEmpty();
+        assertThat(page.next()).isNull();
+        // one side only: neither the combined query nor the outgoing side runs
+        verify(reservationRepository, never()).findForUserBefore(any(), any(), any(), anyInt());
+        verify(reservationRepository, never()).findOutgoingBefore(any(), any(), any(), any());
     }
 }
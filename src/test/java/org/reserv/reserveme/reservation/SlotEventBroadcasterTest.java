@@ -0,0 +1,162 @@
+package org.reserv.reserveme.reservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotEventBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SlotEventBroadcaster broadcaster;
+
+    // Records what would be written to the client; optionally blocks like a stalled socket
+    private class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final boolean stalled;
+
+        RecordingEmitter(boolean stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (stalled) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+        }
+    }
+
+    private SlotEventBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+        return new SlotEventBroadcaster(new ObjectMapper(), bufferSize, maxSubscribers, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void events_reachOnlySubscribersFollowingThatOwner() throws Exception {
+        broadcaster = broadcaster(8, 10);
+        UUID ownerA = UUID.randomUUID();
+        UUID ownerB = UUID.randomUUID();
+        RecordingEmitter followsA = new RecordingEmitter(false);
+        RecordingEmitter followsAll = new RecordingEmitter(false);
+        broadcaster.subscribe(ownerA, followsA);
+        broadcaster.subscribe(null, followsAll);
+
+        UUID slotId = UUID.randomUUID();
+        broadcaster.onSlotEvent(SlotEvent.reserved(slotId, ownerB));
+        broadcaster.onSlotEvent(SlotEvent.confirmed(slotId, ownerA));
+
+        await(() -> followsAll.frames.size() == 2 && followsA.frames.size() == 1);
+        assertThat(followsAll.frames.get(0)).contains("event:reserved").contains(slotId.toString());
+        assertThat(followsA.frames.get(0)).contains("event:confirmed");
+    }
+
+    @Test
+    void slowSubscriber_isDroppedWhenItsBufferOverflows() throws Exception {
+        broadcaster = broadcaster(2, 10);
+        RecordingEmitter stalled = new RecordingEmitter(true);
+        RecordingEmitter healthy = new RecordingEmitter(false);
+        broadcaster.subscribe(null, stalled);
+        broadcaster.subscribe(null, healthy);
+
+        // One event at a time so the healthy subscriber's buffer never fills up. The first one
+        // leaves the stalled sender stuck in send(); the next two fill its buffer.
+        UUID ownerId = UUID.randomUUID();
+        for (int i = 1; i <= 4; i++) {
+            broadcaster.onSlotEvent(SlotEvent.reserved(UUID.randomUUID(), ownerId));
+            int expected = i;
+            await(() -> healthy.frames.size() == expected);
+        }
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("slots.stream.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void subscribe_refusesBeyondTheSubscriberLimit() {
+        broadcaster = broadcaster(8, 1);
+
+        assertThat(broadcaster.subscribe(null, new RecordingEmitter(false))).isPresent();
+        assertThat(broadcaster.subscribe(null, new RecordingEmitter(false))).isEmpty();
+    }
+
+    @Test
+    void subscribe_concurrentCallersNeverExceedTheLimit() throws Exception {
+        broadcaster = broadcaster(8, 10);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (broadcaster.subscribe(null, new RecordingEmitter(false)).isPresent()) {
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+        go.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(accepted.get()).isEqualTo(10);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(10);
+    }
+
+    @Test
+    void droppedSubscriber_givesItsPlaceBack() throws Exception {
+        broadcaster = broadcaster(1, 1);
+        RecordingEmitter stalled = new RecordingEmitter(true);
+        broadcaster.subscribe(null, stalled);
+        UUID ownerId = UUID.randomUUID();
+        // The first frame leaves the sender stuck in send(), the second fills the buffer and
+        // the third overflows it
+        for (int i = 0; i < 3; i++) {
+            broadcaster.onSlotEvent(SlotEvent.reserved(UUID.randomUUID(), ownerId));
+            Thread.sleep(20);
+        }
+        await(() -> broadcaster.subscriberCount() == 0);
+
+        assertThat(broadcaster.subscribe(null, new RecordingEmitter(false))).isPresent();
+    }
+}
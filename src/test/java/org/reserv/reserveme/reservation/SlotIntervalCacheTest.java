@@ -0,0 +1,77 @@
+package org.reserv.reserveme.reservation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reserv.reserveme.reservation.dto.AvailabilitySlotResponse;
+import org.reserv.reserveme.user.User;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlotIntervalCacheTest {
+
+    @Mock
+    private AvailabilitySlotRepository slotRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Instant start = Instant.now().plus(1, ChronoUnit.DAYS);
+
+    @Test
+    void reload_keepsEventsThatArriveWhileLoading() throws Exception {
+        SlotIntervalCache cache = new SlotIntervalCache(slotRepository, transactionManager, true);
+        AvailabilitySlot loaded = slot(start);
+        AvailabilitySlot deletedMeanwhile = slot(start.plus(1, ChronoUnit.HOURS));
+        AvailabilitySlotResponse createdMeanwhile = AvailabilitySlotResponse.from(slot(start.plus(2, ChronoUnit.HOURS)));
+        // The query's result predates both events, which commit while it is still running
+        when(slotRepository.findUpcomingWithOwner(any())).thenAnswer(invocation -> {
+            cache.onSlotEvent(SlotEvent.created(createdMeanwhile));
+            cache.onSlotEvent(SlotEvent.deleted(deletedMeanwhile.getId(), deletedMeanwhile.getOwner().getId()));
+            return List.of(loaded, deletedMeanwhile);
+        });
+
+        cache.reload();
+
+        List<AvailabilitySlotResponse> hits = cache.overlapping(Instant.now(), start.plus(1, ChronoUnit.DAYS), null).orElseThrow();
+        assertThat(hits).extracting(AvailabilitySlotResponse::id)
+                .containsExactlyInAnyOrder(loaded.getId(), createdMeanwhile.id());
+    }
+
+    @Test
+    void eventsAfterReload_applyToTheNewSnapshot() throws Exception {
+        SlotIntervalCache cache = new SlotIntervalCache(slotRepository, transactionManager, true);
+        AvailabilitySlot loaded = slot(start);
+        when(slotRepository.findUpcomingWithOwner(any())).thenReturn(List.of(loaded));
+        cache.reload();
+
+        cache.onSlotEvent(SlotEvent.deleted(loaded.getId(), loaded.getOwner().getId()));
+
+        assertThat(cache.overlapping(Instant.now(), null, null).orElseThrow()).isEmpty();
+    }
+
+    private static AvailabilitySlot slot(Instant start) throws Exception {
+        User owner = new User("owner@example.com", "hash", "ROLE_USER", "Owner");
+        setId(owner, UUID.randomUUID());
+        AvailabilitySlot slot = new AvailabilitySlot(owner, start, start.plus(30, ChronoUnit.MINUTES));
+        setId(slot, UUID.randomUUID());
+        return slot;
+    }
+
+    private static void setId(Object o, UUID id) throws Exception {
+        Field f = o.getClass().getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(o, id);
+    }
+}
@@ -0,0 +1,59 @@
+package org.reserv.reserveme.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void shutdown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void hash_matchesAndRecordsConfiguredCost() {
+        hasher = new PasswordHasher(1, 4, 5, new SimpleMeterRegistry());
+        String hash = hasher.hash("secret");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(hasher.needsRehash(hash)).isFalse();
+        assertThat(new PasswordHasher(1, 4, 6, new SimpleMeterRegistry()).needsRehash(hash)).isTrue();
+    }
+
+    @Test
+    void hash_whenQueueIsFull_failsFast() throws Exception {
+        // One worker and a one-slot queue: with many concurrent callers some must be rejected
+        hasher = new PasswordHasher(1, 1, 12, new SimpleMeterRegistry());
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> hasher.hash("secret"), callers));
+            }
+            long rejected = results.stream().filter(f -> {
+                try {
+                    f.join();
+                    return false;
+                } catch (Exception ex) {
+                    return ex.getCause() instanceof PasswordHashingBusyException;
+                }
+            }).count();
+            assertThat(rejected).isGreaterThan(0);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.reserv.reserveme.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserCache cache;
+    private User user;
+
+    @BeforeEach
+    void setup() throws Exception {
+        cache = new UserCache(userRepository, transactionManager, 100, Duration.ofMinutes(10), meterRegistry);
+        user = new User("c@example.com", "h", "ROLE_USER", "Cached");
+        Field f = User.class.getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(user, UUID.randomUUID());
+    }
+
+    @Test
+    void findById_loadsOnceUntilEvicted() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThat(cache.findById(user.getId())).contains(UserSnapshot.from(user));
+        assertThat(cache.findById(user.getId())).contains(UserSnapshot.from(user));
+        verify(userRepository, times(1)).findById(user.getId());
+
+        user.setDisplayName("Renamed");
+        cache.evict(user.getId(), user.getEmail());
+        assertThat(cache.findById(user.getId())).map(UserSnapshot::displayName).contains("Renamed");
+        verify(userRepository, times(2)).findById(user.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByEmail_resolvesIdThenSnapshot_andDoesNotCacheMisses() {
+        when(userRepository.findByEmail("c@example.com")).thenReturn(Optional.empty(), Optional.of(user));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThat(cache.findByEmail("c@example.com")).isEmpty();
+        // Registered in the meantime: the earlier miss must not stick
+        assertThat(cache.findByEmail("c@example.com")).map(UserSnapshot::id).contains(user.getId());
+        assertThat(cache.findByEmail("c@example.com")).isPresent();
+        verify(userRepository, times(2)).findByEmail("c@example.com");
+    }
+}
@@ -0,0 +1,79 @@
+package org.reserv.reserveme.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UserService userService;
+
+    private static User user(String hash) throws Exception {
+        User user = new User("u@example.com", hash, "ROLE_USER");
+        Field f = User.class.getDeclaredField("id");
+        f.setAccessible(true);
+        f.set(user, UUID.randomUUID());
+        return user;
+    }
+
+    @Test
+    void authenticate_withOutdatedCost_rehashesPassword() throws Exception {
+        User user = user("$2a$04$old");
+        when(userRepository.findByEmail("u@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "$2a$04$old")).thenReturn(true);
+        when(passwordHasher.needsRehash("$2a$04$old")).thenReturn(true);
+        when(passwordHasher.hash("secret")).thenReturn("$2a$10$new");
+
+        assertThat(userService.authenticate("u@example.com", "secret")).isSameAs(user);
+        verify(userRepository).updatePasswordHash(user.getId(), "$2a$10$new");
+    }
+
+    @Test
+    void authenticate_wrongPassword_doesNotRehash() throws Exception {
+        User user = user("$2a$04$old");
+        when(userRepository.findByEmail("u@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrong", "$2a$04$old")).thenReturn(false);
+
+        assertThatThrownBy(() -> userService.authenticate("u@example.com", "wrong"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(userRepository, never()).updatePasswordHash(any(), anyString());
+    }
+
+    @Test
+    void registerUser_concurrentDuplicate_isReportedAsDuplicateEmail() {
+        when(userCache.findByEmail("u@example.com")).thenReturn(Optional.empty());
+        when(passwordHasher.hash("secret")).thenReturn("$2a$10$hash");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("users_email_key"));
+
+        assertThatThrownBy(() -> userService.registerUser("u@example.com", "secret", "U"))
+                .isInstanceOf(DuplicateEmailException.class);
+    }
+}